@@ -0,0 +1,4 @@
+<%@page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@taglib prefix="s" uri="/struts-tags" %>
+<%-- コメント一覧の続き（詳細画面の「もっと見る」から読み込む断片） --%>
+<%@ include file="comment_items.jspf" %>
@@ -81,6 +81,21 @@
         margin-bottom: 15px;
         border-radius: 5px;
     }
+    .comment-new {
+        background-color: #fffde7;
+    }
+    .comment-more {
+        text-align: center;
+        padding: 10px;
+    }
+    .reply-toggle {
+        margin: -5px 0 15px 40px;
+        font-size: 0.9em;
+    }
+    .reply-toggle a {
+        color: #4CAF50;
+        text-decoration: none;
+    }
     .comment-reply {
         margin-left: 40px;
         background-color: #f5f5f5;
@@ -201,6 +216,11 @@
     .edit-form .cancel-btn:hover {
         background-color: #777;
     }
+    /* 投票ボタン */
+    .vote-form {
+        display: inline;
+        margin-left: 10px;
+    }
     /* ファイル関連のスタイル */
     .file-attachment {
         background-color: #f0f8ff;
@@ -258,6 +278,205 @@
         });
     }
     
+    // コメントの続きを読み込み、「もっと見る」の位置に追加
+    function loadMoreComments(link) {
+        var more = document.getElementById('comment-more');
+        link.textContent = '読み込み中...';
+        fetch(link.href)
+            .then(function(response) {
+                if (!response.ok) {
+                    throw new Error(response.status);
+                }
+                return response.text();
+            })
+            .then(function(html) {
+                // 断片には次ページがある場合のみ新しい「もっと見る」が含まれる
+                more.insertAdjacentHTML('afterend', html);
+                more.parentNode.removeChild(more);
+            })
+            .catch(function() {
+                link.textContent = 'もっと見る';
+                alert('コメントの読み込みに失敗しました');
+            });
+        return false;
+    }
+
+    // 返信を取得し、スレッドの返信一覧に追加（「返信を表示」「さらに表示」）
+    function loadReplies(parentCommentId, link) {
+        var toggle = document.getElementById('reply-toggle-' + parentCommentId);
+        var replies = document.getElementById('comment-replies-' + parentCommentId);
+        var url = 'commentReplies.action?parentCommentId=' + parentCommentId;
+        if (toggle.dataset.after) {
+            url += '&afterId=' + toggle.dataset.after;
+        }
+        var label = link.innerHTML;
+        link.textContent = '読み込み中...';
+        fetch(url)
+            .then(function(response) {
+                if (!response.ok) {
+                    throw new Error(response.status);
+                }
+                return response.json();
+            })
+            .then(function(page) {
+                if (page.error) {
+                    throw new Error(page.error);
+                }
+                page.replies.forEach(function(reply) {
+                    // 表示済み（新着として受信済み）は追加しない
+                    if (!document.getElementById('comment-content-' + reply.commentId)) {
+                        replies.appendChild(buildCommentItem(reply, false));
+                    }
+                });
+                if (page.hasNext) {
+                    toggle.dataset.after = page.nextCursor;
+                    link.textContent = 'さらに表示';
+                } else {
+                    toggle.parentNode.removeChild(toggle);
+                }
+            })
+            .catch(function() {
+                link.innerHTML = label;
+                alert('返信の読み込みに失敗しました');
+            });
+        return false;
+    }
+
+    // コメント1件の表示要素を作成（返信の読み込み・新着コメントの受信で使用）
+    function buildCommentItem(comment, isNew) {
+        var item = document.createElement('div');
+        item.className = 'comment-item' + (isNew ? ' comment-new' : '')
+                + (comment.parentCommentId ? ' comment-reply' : '');
+
+        var header = document.createElement('div');
+        header.className = 'comment-header';
+        var who = document.createElement('div');
+        var writer = document.createElement('span');
+        writer.className = 'comment-writer';
+        writer.textContent = comment.writer;
+        who.appendChild(writer);
+        if (comment.parentCommentId) {
+            var replyLabel = document.createElement('span');
+            replyLabel.style.color = '#4CAF50';
+            replyLabel.style.marginLeft = '5px';
+            replyLabel.textContent = '↳ 返信';
+            who.appendChild(replyLabel);
+        }
+        var date = document.createElement('span');
+        date.className = 'comment-date';
+        date.textContent = comment.createdAt || '';
+        header.appendChild(who);
+        header.appendChild(date);
+
+        var content = document.createElement('div');
+        content.className = 'comment-content';
+        content.id = 'comment-content-' + comment.commentId;
+        content.textContent = comment.content;
+
+        // 編集フォーム
+        var editForm = document.createElement('div');
+        editForm.className = 'edit-form';
+        editForm.id = 'edit-form-' + comment.commentId;
+        editForm.innerHTML = '<h4>コメントを編集</h4>'
+            + '<form action="commentEditSubmit.action" method="post">'
+            + '<input type="hidden" name="commentId">'
+            + '<input type="hidden" name="boardId">'
+            + '<textarea name="content" rows="4" required></textarea>'
+            + '<button type="submit">更新</button> '
+            + '<button type="button" class="cancel-btn">キャンセル</button>'
+            + '</form>';
+        editForm.querySelector('[name="commentId"]').value = comment.commentId;
+        editForm.querySelector('[name="boardId"]').value = comment.boardId;
+        editForm.querySelector('textarea').value = comment.content;
+        editForm.querySelector('.cancel-btn').onclick = function() {
+            commentEditForm(comment.commentId);
+        };
+
+        // コメントアクション
+        var actions = document.createElement('div');
+        actions.className = 'comment-actions';
+        var editLink = document.createElement('a');
+        editLink.href = 'javascript:void(0)';
+        editLink.textContent = '編集';
+        editLink.onclick = function() {
+            commentEditForm(comment.commentId);
+        };
+        var deleteLink = document.createElement('a');
+        deleteLink.href = 'commentDelete.action?commentId=' + comment.commentId + '&boardId=' + comment.boardId;
+        deleteLink.className = 'delete-link';
+        deleteLink.textContent = '削除';
+        deleteLink.onclick = function() {
+            return confirmDelete(comment.commentId);
+        };
+        actions.appendChild(editLink);
+        actions.appendChild(deleteLink);
+
+        item.appendChild(header);
+        item.appendChild(content);
+        item.appendChild(editForm);
+        item.appendChild(actions);
+        return item;
+    }
+
+    // 新着コメントの受信（Server-Sent Events、ページの再読み込みなし）
+    document.addEventListener('DOMContentLoaded', function() {
+        if (!window.EventSource) {
+            return;
+        }
+        var source = new EventSource('commentStream?boardId=<s:property value="item.boardId"/>');
+        source.addEventListener('comment', function(event) {
+            appendLiveComment(JSON.parse(event.data));
+        });
+    });
+
+    // 受信したコメントを一覧に追加
+    function appendLiveComment(comment) {
+        // 表示済み（自分の投稿・再接続時の重複）は追加しない
+        if (document.getElementById('comment-content-' + comment.commentId)) {
+            return;
+        }
+        var item = buildCommentItem(comment, true);
+
+        if (comment.parentCommentId) {
+            // 返信: 親コメントのスレッドの返信一覧の末尾へ（親が未表示の場合は「もっと見る」で表示）
+            var parent = document.getElementById('comment-content-' + comment.parentCommentId);
+            if (!parent) {
+                return;
+            }
+            var thread = parent.closest('.comment-thread');
+            var toggle = thread.querySelector('.reply-toggle');
+            if (toggle) {
+                // 未取得の返信がある場合は追加せず、「返信を表示」から取得する
+                // （まだ開いていないスレッドは件数のみ更新）
+                if (!toggle.dataset.after) {
+                    var replyCount = toggle.querySelector('.reply-count');
+                    replyCount.textContent = parseInt(replyCount.textContent, 10) + 1;
+                }
+            } else {
+                thread.querySelector('.comment-replies').appendChild(item);
+            }
+        } else {
+            // 親コメント: 未読み込みのページがある場合は「もっと見る」で表示
+            if (document.getElementById('comment-more')) {
+                return;
+            }
+            var thread = document.createElement('div');
+            thread.className = 'comment-thread';
+            thread.id = 'comment-thread-' + comment.commentId;
+            thread.appendChild(item);
+            var replies = document.createElement('div');
+            replies.className = 'comment-replies';
+            thread.appendChild(replies);
+            document.getElementById('comment-list').appendChild(thread);
+            var empty = document.getElementById('comment-empty');
+            if (empty) {
+                empty.parentNode.removeChild(empty);
+            }
+        }
+        var count = document.getElementById('comment-count');
+        count.textContent = parseInt(count.textContent, 10) + 1;
+    }
+
     // 削除確認
     function confirmDelete(commentId) {
         return confirm('このコメントを削除しますか？');
@@ -343,6 +562,21 @@
 		    </td>
 		</tr>
 	</s:if>
+    <!-- 閲覧数・評価（投票はPOST、同じ閲覧者は1回のみ） -->
+    <tr>
+        <th>閲覧・評価</th>
+        <td>
+            閲覧 <s:property value="item.viewCount"/>
+            <form action="boardLike.action" method="post" class="vote-form">
+                <input type="hidden" name="boardId" value="<s:property value='item.boardId'/>"/>
+                <button type="submit">👍 いいね <s:property value="item.likeCount"/></button>
+            </form>
+            <form action="boardDislike.action" method="post" class="vote-form">
+                <input type="hidden" name="boardId" value="<s:property value='item.boardId'/>"/>
+                <button type="submit">👎 よくない <s:property value="item.dislikeCount"/></button>
+            </form>
+        </td>
+    </tr>
 </table>
 
 <hr/>
@@ -353,14 +587,14 @@
     <!-- 編集 -->
     <a href="boardEditForm.action?boardId=<s:property value='item.boardId'/>">編集</a>
     <!-- 削除 -->
-    <a href="boardDelete.action?boardId=<s:property value='item.boardId'/>" 
+    <a href="boardDelete.action?boardId=<s:property value='item.boardId'/>&version=<s:property value='item.version'/>" 
        class="delete-btn"
        onclick="return confirm('本当に削除しますか？')">削除</a>
 </div>
 
 <!-- ========== コメントセクション ========== -->
 <div class="comment-section">
-    <h2>コメント (<s:property value="comments.size()"/>)</h2>
+    <h2>コメント (<span id="comment-count"><s:property value="commentCount"/></span>)</h2>
     
     <!-- コメント投稿フォーム -->
     <div class="comment-form">
@@ -377,92 +611,13 @@
     </div>
     
     <!-- コメント一覧 -->
-    <div class="comment-list">
+    <div class="comment-list" id="comment-list">
         <s:if test="comments == null || comments.isEmpty()">
-            <p style="color: #888; text-align: center; padding: 20px;">
+            <p id="comment-empty" style="color: #888; text-align: center; padding: 20px;">
             </p>
         </s:if>
         <s:else>
-            <s:iterator value="comments" var="comment">
-                <!-- 親コメントか返信かで表示を変える -->
-                <div class="comment-item <s:if test='#comment.parentCommentId != null'>comment-reply</s:if>">
-                    <div class="comment-header">
-                        <div>
-                            <span class="comment-writer">
-                                <s:property value="#comment.writer"/>
-                            </span>
-                            <s:if test="#comment.parentCommentId != null">
-                                <span style="color: #4CAF50; margin-left: 5px;">↳ 返信</span>
-                            </s:if>
-                        </div>
-                        <span class="comment-date">
-                            <s:date name="#comment.createdAt" format="yyyy/MM/dd HH:mm"/>
-                            <s:if test="#comment.updatedAt != null">
-                            </s:if>
-                        </span>
-                    </div>
-                    
-                    <div class="comment-content" id="comment-content-<s:property value='#comment.commentId'/>">
-                        <s:property value="#comment.content" escapeHtml="false"/>
-                    </div>
-                    
-                    <!-- 編集フォーム -->
-                    <div id="edit-form-<s:property value='#comment.commentId'/>" class="edit-form">
-                        <h4>コメントを編集</h4>
-                        <s:form action="commentEditSubmit" method="post">
-                            <s:hidden name="commentId" value="%{#comment.commentId}"/>
-                            <s:hidden name="boardId" value="%{item.boardId}"/>
-                            
-                            <s:textarea name="content" value="%{#comment.content}" rows="4" required="true"/>
-                            <button type="submit">更新</button>
-                            <button type="button" class="cancel-btn" 
-                                    onclick="commentEditForm(<s:property value='#comment.commentId'/>)">
-                                キャンセル
-                            </button>
-                        </s:form>
-                    </div>
-                    
-                    <!-- コメントアクション -->
-                    <div class="comment-actions">
-                        <s:if test="#comment.parentCommentId == null">
-                            <a href="javascript:void(0)" 
-                               onclick="commentReplyForm(<s:property value='#comment.commentId'/>)">
-                                返信
-                            </a>
-                        </s:if>
-                        <a href="javascript:void(0)"
-                           onclick="commentEditForm(<s:property value='#comment.commentId'/>)">
-                            編集
-                        </a>
-                        <a href="commentDelete.action?commentId=<s:property value='#comment.commentId'/>&boardId=<s:property value='item.boardId'/>" 
-                           class="delete-link"
-                           onclick="return confirmDelete(<s:property value='#comment.commentId'/>)">
-                            削除
-                        </a>
-                    </div>
-                    
-                    <!-- 返信フォーム -->
-                    <s:if test="#comment.parentCommentId == null">
-                        <div id="reply-form-<s:property value='#comment.commentId'/>" class="reply-form">
-                            <h4>返信を投稿</h4>
-                            <s:form action="commentAdd" method="post">
-                                <s:hidden name="boardId" value="%{item.boardId}"/>
-                                <s:hidden name="parentCommentId" value="%{#comment.commentId}"/>
-                                <s:hidden name="ipAddress" value="%{#request.getRemoteAddr()}"/>
-                                
-                                <s:textfield name="writer" placeholder="名前" maxlength="50" required="true"/>
-                                <s:textarea name="content" placeholder="返信内容を入力してください..." 
-                                           rows="3" required="true"/>
-                                <button type="submit">返信投稿</button>
-                                <button type="button" class="cancel-btn" 
-                                        onclick="commentReplyForm(<s:property value='#comment.commentId'/>)">
-                                    キャンセル
-                                </button>
-                            </s:form>
-                        </div>
-                    </s:if>
-                </div>
-            </s:iterator>
+            <%@ include file="comment_items.jspf" %>
         </s:else>
     </div>
 </div>
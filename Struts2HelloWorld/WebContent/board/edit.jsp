@@ -50,13 +50,15 @@
 <s:actionerror/>
 <s:form action="boardEdit" method="post" enctype="multipart/form-data">
     <s:hidden name="boardId" value="%{item.boardId}"/>
+    <!-- 楽観的ロック: 読み込んだ時点のバージョン（他の更新が先に入った場合は競合） -->
+    <s:hidden name="version" value="%{version}"/>
     <table>
         <tr>
             <th>カテゴリ:</th>
             <td>
                 <s:select name="category" 
                           list="#{'自由':'自由','お知らせ':'お知らせ','質問':'質問','設問':'設問'}"
-                          value="%{item.category}"/>
+                          value="%{category}"/>
             </td>
         </tr>
         
@@ -64,7 +66,7 @@
         <tr>
             <th>タイトル:</th>
             <td>
-                <s:textfield name="title" size="50" maxlength="90" value="%{item.title}"/>
+                <s:textfield name="title" size="50" maxlength="90" value="%{title}"/>
             </td>
         </tr>
 		
@@ -72,7 +74,7 @@
         <tr>
             <th>名前:</th>
             <td>
-                <s:textfield name="writer" size="20" maxlength="50" value="%{item.writer}"/>
+                <s:textfield name="writer" size="20" maxlength="50" value="%{writer}"/>
             </td>
         </tr>
   
@@ -80,7 +82,7 @@
         <tr>
             <th>本文:</th>
             <td>
-                <s:textarea name="content" rows="10" cols="60" value="%{item.content}"/>
+                <s:textarea name="content" rows="10" cols="60" value="%{content}"/>
             </td>
         </tr>
         <tr>
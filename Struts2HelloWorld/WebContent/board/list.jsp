@@ -1,5 +1,5 @@
 <%@page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
-<%@page import="dao.BoardDao"%>
+<%@page import="service.BoardService"%>
 <%@page import="com.opensymphony.xwork2.util.ValueStack"%>
 <%@page import="org.apache.struts2.ServletActionContext"%>
 <!DOCTYPE html>
@@ -26,11 +26,16 @@
     td {
         padding: 8px;
     }
+    .comment-badge {
+        color: #4CAF50;
+        font-size: 0.9em;
+        margin-left: 4px;
+    }
 </style>
 </head>
 <body>
 <h1>掲示板</h1>
-<p><a href="boardInput.action">[新規投稿]</a></p>
+<p><a href="boardInput.action">[新規投稿]</a> <a href="boardTrending.action">[トレンド]</a></p>
 <div style="margin: 10px 0;">
     <a href="boardImportForm.action">
         <button type="button">CSV import</button>
@@ -41,11 +46,12 @@
 </div>
 <p>
     カテゴリ: 
-    <a href="boardList.action">[全て]</a>
-    <a href="boardList.action?category=自由">[自由]</a>
-    <a href="boardList.action?category=お知らせ">[お知らせ]</a>
-    <a href="boardList.action?category=質問">[質問]</a>
-    <a href="boardList.action?category=設問">[設問]</a>
+    <!-- 件数はメモリ上の件数キャッシュから表示（COUNT(*)は発行しない） -->
+    <a href="boardList.action">[全て(<s:property value="getCategoryCount('')"/>)]</a>
+    <a href="boardList.action?category=自由">[自由(<s:property value="getCategoryCount('自由')"/>)]</a>
+    <a href="boardList.action?category=お知らせ">[お知らせ(<s:property value="getCategoryCount('お知らせ')"/>)]</a>
+    <a href="boardList.action?category=質問">[質問(<s:property value="getCategoryCount('質問')"/>)]</a>
+    <a href="boardList.action?category=設問">[設問(<s:property value="getCategoryCount('設問')"/>)]</a>
 </p>
 <!-- 検索フォーム追加 -->
 <div class="search-form">
@@ -55,7 +61,7 @@
             <input type="hidden" name="category" value="<s:property value='category'/>"/>
         </s:if>
         
-        <label for="searchKeyword">タイトル検索:</label>
+        <label for="searchKeyword">キーワード検索（タイトル・本文）:</label>
         <input type="text" 
                id="searchKeyword" 
                name="searchKeyword" 
@@ -93,12 +99,12 @@
 /*
  * ValueStackからdataを取得
  * - Actionクラスでdataがセットされていない場合
- * - Board.getChatData()を呼び出してデータを取得
+ * - BoardServiceから最新ページのみ取得（全件は読み込まない）
  * - ValueStackにセット
  */
 ValueStack stack = (ValueStack)request.getAttribute(ServletActionContext.STRUTS_VALUESTACK_KEY);
 if(stack!=null && stack.findValue("data")==null){
-    stack.set("data", BoardDao.findAll());
+    stack.set("data", new BoardService().getBoardList(null, null, null, null).getItems());
 }
 %>
 
@@ -138,6 +144,10 @@ if(stack!=null && stack.findValue("data")==null){
             <a href="boardDetail.action?boardId=<s:property value='boardId'/>">
                 <s:property value="title"/>
             </a>
+            <!-- コメント数（board_data.comment_count、1件以上の場合のみ） -->
+            <s:if test="commentCount != null && commentCount > 0">
+                <span class="comment-badge">[<s:property value="commentCount"/>]</span>
+            </s:if>
         </td>
         <!-- 投稿者 -->
         <td><s:property value="writer"/></td>
@@ -177,5 +187,30 @@ if(stack!=null && stack.findValue("data")==null){
     </tr>
 </s:if>
 </table>
+
+<!-- ページング（キーセット方式：前後ページは投稿IDのカーソルで指定） -->
+<div class="paging" style="margin-top: 15px;">
+    <s:if test="paging != null && paging.hasPrev && paging.prevCursor != null">
+        <s:url var="prevUrl" action="boardList">
+            <s:param name="category" value="category"/>
+            <s:param name="searchKeyword" value="searchKeyword"/>
+            <s:param name="beforeId" value="paging.prevCursor"/>
+            <s:param name="page" value="page - 1"/>
+        </s:url>
+        <a href="<s:property value='#prevUrl'/>">&laquo; 前へ</a>
+    </s:if>
+    <s:if test="totalPages > 0">
+        <span style="margin-left: 10px;"><s:property value="page"/> / <s:property value="totalPages"/> ページ</span>
+    </s:if>
+    <s:if test="paging != null && paging.hasNext && paging.nextCursor != null">
+        <s:url var="nextUrl" action="boardList">
+            <s:param name="category" value="category"/>
+            <s:param name="searchKeyword" value="searchKeyword"/>
+            <s:param name="afterId" value="paging.nextCursor"/>
+            <s:param name="page" value="page + 1"/>
+        </s:url>
+        <a href="<s:property value='#nextUrl'/>" style="margin-left: 10px;">次へ &raquo;</a>
+    </s:if>
+</div>
 </body>
 </html>
\ No newline at end of file
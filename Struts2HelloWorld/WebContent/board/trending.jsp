@@ -0,0 +1,85 @@
+<%@page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<!DOCTYPE html>
+<html>
+<%@taglib prefix="s" uri="/struts-tags" %>
+<head>
+<meta http-equiv="Content-Type" content="text/html; charset=UTF-8">
+<title>掲示板 - トレンド</title>
+<style>
+    body {
+        font-family: Arial, sans-serif;
+        margin: 20px;
+    }
+    table {
+        border-collapse: collapse;
+        width: 100%;
+        margin-top: 20px;
+    }
+    th {
+        background-color: #f0f0f0;
+        padding: 10px;
+        text-align: left;
+    }
+    td {
+        padding: 8px;
+    }
+    .period-current {
+        font-weight: bold;
+    }
+</style>
+</head>
+<body>
+<h1>掲示板 - トレンド</h1>
+<p><a href="boardList.action">[一覧に戻る]</a></p>
+<p>
+    集計期間:
+    <a href="boardTrending.action?period=hour"
+       <s:if test="period == 'hour'">class="period-current"</s:if>>[直近1時間]</a>
+    <a href="boardTrending.action?period=day"
+       <s:if test="period == 'day'">class="period-current"</s:if>>[直近1日]</a>
+</p>
+<!-- 順位はメモリ上の集計（閲覧 + コメント）による近似値 -->
+<hr/>
+<s:actionerror/>
+
+<table border="1">
+    <tr>
+        <th>順位</th>
+        <th>カテゴリ</th>
+        <th>タイトル</th>
+        <th>投稿者</th>
+        <th>日時</th>
+        <th>閲覧</th>
+        <th>いいね</th>
+        <th>よくない</th>
+    </tr>
+<s:iterator value="data" status="stat">
+    <tr>
+        <td><s:property value="#stat.count"/></td>
+        <td>
+            <span class="category category-<s:property value='category'/>">
+                <s:property value="category"/>
+            </span>
+        </td>
+        <td>
+            <a href="boardDetail.action?boardId=<s:property value='boardId'/>">
+                <s:property value="title"/>
+            </a>
+        </td>
+        <td><s:property value="writer"/></td>
+        <td><s:date name="createdAt" format="yyyy-MM-dd HH:mm"/></td>
+        <td><s:property value="viewCount"/></td>
+        <td><s:property value="likeCount"/></td>
+        <td><s:property value="dislikeCount"/></td>
+    </tr>
+</s:iterator>
+<s:if test="data == null || data.isEmpty()">
+    <tr>
+        <td colspan="8" style="text-align: center; padding: 20px; color: #999;">
+            この期間に閲覧・コメントされた投稿はありません
+        </td>
+    </tr>
+</s:if>
+</table>
+</body>
+</html>
@@ -0,0 +1,31 @@
+-- ============================================================
+-- 掲示板一覧の絞り込み用インデックス
+--
+-- BoardMapper.findPage() のWHERE句をインデックスで処理するためのもの
+-- - 全件一覧    : board_id DESC の部分インデックス
+-- - カテゴリ絞込: (category, board_id DESC) の部分インデックス
+-- - タイトル検索: pg_trgm のGINインデックス（ILIKE '%キーワード%' に対応）
+--
+-- is_deleted = FALSE の部分インデックスにすることで、
+-- 論理削除済みの行をインデックスに含めない
+-- ============================================================
+
+-- 部分一致検索用の拡張機能（トライグラム）
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 全件一覧のキーセットページング
+CREATE INDEX IF NOT EXISTS idx_board_data_active_id
+    ON board_data (board_id DESC)
+    WHERE is_deleted = FALSE;
+
+-- カテゴリ別一覧のキーセットページング
+CREATE INDEX IF NOT EXISTS idx_board_data_category_id
+    ON board_data (category, board_id DESC)
+    WHERE is_deleted = FALSE;
+
+-- タイトルの部分一致検索（日本語を含む任意の部分文字列）
+CREATE INDEX IF NOT EXISTS idx_board_data_title_trgm
+    ON board_data USING gin (title gin_trgm_ops)
+    WHERE is_deleted = FALSE;
+
+ANALYZE board_data;
@@ -0,0 +1,11 @@
+-- ============================================================
+-- 投稿の楽観的ロック用バージョン列
+--
+-- BoardMapper.updateIfVersion() / deleteIfVersion() で使用
+-- - 更新・削除のたびに version = version + 1
+-- - 編集フォームで読み込んだ version と一致する場合のみ更新
+--   （存在確認・競合確認・書き込みを1文で行う）
+-- ============================================================
+
+ALTER TABLE board_data
+    ADD COLUMN IF NOT EXISTS version integer NOT NULL DEFAULT 0;
@@ -0,0 +1,22 @@
+-- ============================================================
+-- コメント一覧のページング用インデックス
+--
+-- CommentMapper.findThreadPage() / BoardMapper.findDetailRows() 用
+-- - 親コメントのキーセットページング: (board_id, comment_id) の部分インデックス
+-- - 返信の取得（再帰CTE）: parent_comment_id の部分インデックス
+--
+-- is_deleted = FALSE の部分インデックスにすることで、
+-- 論理削除済みのコメントをインデックスに含めない
+-- ============================================================
+
+-- 投稿ごとのコメントをID順に辿る
+CREATE INDEX IF NOT EXISTS idx_comment_data_board_id
+    ON comment_data (board_id, comment_id)
+    WHERE is_deleted = FALSE;
+
+-- 親コメントIDから返信を辿る
+CREATE INDEX IF NOT EXISTS idx_comment_data_parent_id
+    ON comment_data (parent_comment_id)
+    WHERE is_deleted = FALSE;
+
+ANALYZE comment_data;
@@ -0,0 +1,22 @@
+-- ============================================================
+-- 投稿ごとのコメント数（一覧画面の表示用）
+--
+-- CommentMapper.insertComment / deleteCommentReturning の1文（WITH ... RETURNING）で
+-- コメントの追加・論理削除と同時に増減する（事前の照会・行ロックなし）
+-- - 一覧の1ページ分を表示するたびに投稿ごとのCOUNT(*)を行わないため
+-- - 返信を含む、論理削除されていないコメントの件数
+-- ============================================================
+
+ALTER TABLE board_data
+    ADD COLUMN IF NOT EXISTS comment_count integer NOT NULL DEFAULT 0;
+
+-- 既存コメントの件数を反映
+UPDATE board_data b
+SET comment_count = c.cnt
+FROM (
+    SELECT board_id, COUNT(*) AS cnt
+    FROM comment_data
+    WHERE is_deleted = FALSE
+    GROUP BY board_id
+) c
+WHERE b.board_id = c.board_id;
@@ -2,7 +2,9 @@ package action;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -15,17 +17,23 @@ import org.apache.struts2.ServletActionContext;
 
 import com.opensymphony.xwork2.ActionSupport;
 
-import dao.CommentDao;
+import dao.BoardVersionStamp;
 import dto.request.BoardCreateRequest;
 import dto.request.BoardUpdateRequest;
 import dto.response.BoardDetailResponse;
 import dto.response.BoardListResponse;
+import dto.response.BoardPageResponse;
 import dto.response.CsvImportResponse;
+import entity.BoardWriteResult;
 import model.CommentData;
 import model.FileInfo;
 import service.BoardService;
 import service.CsvService;
 import service.FileService;
+import service.TitleTrie;
+import service.TrendingTracker;
+import util.ConditionalGetUtil;
+import util.JsonWriter;
 
 /**
  * 【BoardActionクラス】
@@ -95,9 +103,21 @@ public class BoardAction extends ActionSupport {
 	private List<BoardListResponse> data;        // 一覧用
     private BoardDetailResponse item;            // 詳細用
 
-	private List<CommentData> comments; // コメントリスト
+	private List<CommentData> comments; // コメントリスト（親コメント、返信は件数のみ）
+	private int commentCount;           // 返信を含むコメント総数
+	private Long commentNextCursor;     // コメントの「もっと見る」用カーソル（次ページなしの場合null）
     
 	private String searchKeyword; // 検索キーワード
+	private String prefix;        // タイトル補完の入力文字列
+	private int limit = TitleTrie.MAX_SUGGESTIONS; // タイトル補完の最大件数
+	
+	private Long afterId;  // 次ページ用カーソル（この投稿IDより古い投稿）
+	private Long beforeId; // 前ページ用カーソル（この投稿IDより新しい投稿）
+	private BoardPageResponse paging; // 一覧のページング情報
+	private int page = 1;       // 表示中のページ番号（前へ・次へリンクで受け渡し）
+	private int totalPages = 0; // 総ページ数（キーワード検索時は0＝表示しない）
+	private String period = "hour"; // トレンドの集計期間（hour / day）
+	private Integer version;        // 楽観的ロック用バージョン（編集フォームのhidden）
 
     private File upload; // アップロードされたファイル
     private String uploadContentType; // ファイルのContentタイプ
@@ -119,6 +139,11 @@ public class BoardAction extends ActionSupport {
     private InputStream inputStream;
 
 	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * トレンド一覧の表示件数
+	 */
+	private static final int PAGE_SIZE_TRENDING = 20;
 	/*
 	 * 【シリアライズバージョンUID】
 	 * 
@@ -256,6 +281,14 @@ public class BoardAction extends ActionSupport {
     public void setComments(List<CommentData> comments) {
         this.comments = comments;
     }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public Long getCommentNextCursor() {
+        return commentNextCursor;
+    }
     
     public String getSearchKeyword() {
         return searchKeyword;
@@ -265,6 +298,81 @@ public class BoardAction extends ActionSupport {
         this.searchKeyword = searchKeyword;
     }
     
+    public String getPrefix() {
+        return prefix;
+    }
+    
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+    
+    public Integer getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+    
+    public String getPeriod() {
+        return period;
+    }
+    
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+    
+    public Long getAfterId() {
+        return afterId;
+    }
+    
+    public void setAfterId(Long afterId) {
+        this.afterId = afterId;
+    }
+    
+    public Long getBeforeId() {
+        return beforeId;
+    }
+    
+    public void setBeforeId(Long beforeId) {
+        this.beforeId = beforeId;
+    }
+    
+    public BoardPageResponse getPaging() {
+        return paging;
+    }
+    
+    public int getPage() {
+        return page;
+    }
+    
+    public void setPage(int page) {
+        this.page = page;
+    }
+    
+    public int getTotalPages() {
+        return totalPages;
+    }
+    
+    /**
+     * カテゴリ別の投稿件数（カテゴリリンク表示用）
+     * - JSPから getCategoryCount('自由') の形で呼び出す
+     * 
+     * @param category カテゴリ（空文字: 全カテゴリ）
+     * @return 投稿件数
+     */
+    public long getCategoryCount(String category) {
+        return boardService.getPostCount(category);
+    }
+    
     public File getUpload() {
         return upload;
     }
@@ -342,16 +450,36 @@ public class BoardAction extends ActionSupport {
      * - boardList.action
      * 
      * 処理の流れ:
-     * 1. ServiceからDTOリスト取得
-     * 2. dataフィールドに設定
-     * 3. JSPへ
+     * 1. Serviceから1ページ分のDTOリスト取得（afterId/beforeIdでページ指定）
+     * 2. data・pagingフィールドに設定
+     * 3. 総ページ数を設定（キーワード検索時を除く）
+     * 4. JSPへ
      */
     public String list() {
         logger.info("【一覧表示】list()メソッド開始");
         
+        // 前回表示から変更がなければ304（DB・JSPを使わない）
+        if (ConditionalGetUtil.isNotModified(ServletActionContext.getRequest(),
+                ServletActionContext.getResponse(),
+                BoardVersionStamp.getListETag(), BoardVersionStamp.getListLastModified())) {
+            logger.debug("【一覧表示】変更なし（304）");
+            return NONE;
+        }
+        
         try {
         	 // ServiceからDTOリスト取得
-            data = boardService.getBoardList(category, searchKeyword);
+            paging = boardService.getBoardList(category, searchKeyword, afterId, beforeId);
+            data = paging.getItems();
+            
+            // ページ番号（件数キャッシュから総ページ数を取得、COUNT(*)は発行しない）
+            if (searchKeyword == null || searchKeyword.trim().isEmpty()) {
+                totalPages = boardService.getPageCount(category);
+            }
+            if (!paging.isHasPrev()) {
+                page = 1;
+            } else if (totalPages > 0) {
+                page = Math.max(1, Math.min(page, totalPages));
+            }
             
             logger.debug("【一覧表示】投稿件数: " + data.size());
             
@@ -363,6 +491,145 @@ public class BoardAction extends ActionSupport {
         return "list";
     }
 
+    /**
+     * トレンド一覧
+     * 
+     * 呼び出しタイミング:
+     * - boardTrending.action?period=hour|day
+     * 
+     * 処理の流れ:
+     * 1. 直近の閲覧・コメントが多い順に上位の投稿を取得（集計はメモリ上）
+     * 2. dataフィールドに設定してJSPへ
+     */
+    public String trending() {
+        TrendingTracker.Period trendPeriod = TrendingTracker.Period.parse(period);
+        period = trendPeriod.name().toLowerCase();
+        logger.info("【トレンド】trending()メソッド開始 - period: " + period);
+        
+        data = boardService.getTrendingList(trendPeriod, PAGE_SIZE_TRENDING);
+        
+        logger.debug("【トレンド】取得件数: " + data.size());
+        return "trending";
+    }
+
+    /**
+     * 一覧JSON API
+     * 
+     * 呼び出しタイミング:
+     * - boardListJson.action?category=...&searchKeyword=...&afterId=...（モバイルクライアント用）
+     * 
+     * 処理の流れ:
+     * 1. 変更がなければ304（一覧画面と同じETag）
+     * 2. DBから読んだ行を1件ずつJSONとしてレスポンスへ直接書き出す
+     *    （DTOのList・OGNL・JSPを経由しない）
+     * 3. 最後にページング情報を出力
+     * 
+     * 出力形式:
+     * {"items":[{"boardId":1,...}, ...],
+     *  "hasNext":true,"hasPrev":false,"nextCursor":101,"prevCursor":120}
+     */
+    public String listJson() {
+        logger.info("【一覧JSON】listJson()メソッド開始");
+        
+        HttpServletResponse response = ServletActionContext.getResponse();
+        if (ConditionalGetUtil.isNotModified(ServletActionContext.getRequest(), response,
+                BoardVersionStamp.getListETag(), BoardVersionStamp.getListLastModified())) {
+            logger.debug("【一覧JSON】変更なし（304）");
+            return NONE;
+        }
+        
+        try {
+            response.setContentType("application/json; charset=UTF-8");
+            JsonWriter json = new JsonWriter(response.getWriter());
+            
+            json.beginObject().name("items").beginArray();
+            BoardPageResponse page = boardService.streamBoardList(
+                    category, searchKeyword, afterId, beforeId,
+                    row -> writeListItem(json, row));
+            json.endArray();
+            
+            if (page == null) {
+                json.name("error").value("データの取得に失敗しました");
+            } else {
+                json.name("hasNext").value(page.isHasNext())
+                    .name("hasPrev").value(page.isHasPrev())
+                    .name("nextCursor").value(page.getNextCursor())
+                    .name("prevCursor").value(page.getPrevCursor());
+            }
+            json.endObject();
+            json.flush();
+            
+        } catch (Exception e) {
+            logger.error("【一覧JSON】エラー発生: " + e.getMessage(), e);
+        }
+        
+        return NONE;
+    }
+    
+    /**
+     * タイトル入力補完API
+     * 
+     * 呼び出しタイミング:
+     * - boardTitleSuggest.action?prefix=...&limit=10（キー入力ごと）
+     * 
+     * メモリ上のトライ木（TitleTrie）のみを参照し、DBにはアクセスしない
+     * 
+     * 出力形式:
+     * {"suggestions":[{"boardId":12,"title":"..."}, ...]}
+     */
+    public String suggest() {
+        logger.debug("【タイトル補完】prefix: " + prefix);
+        
+        HttpServletResponse response = ServletActionContext.getResponse();
+        if (ConditionalGetUtil.isNotModified(ServletActionContext.getRequest(), response,
+                BoardVersionStamp.getListETag(), BoardVersionStamp.getListLastModified())) {
+            return NONE;
+        }
+        
+        try {
+            response.setContentType("application/json; charset=UTF-8");
+            JsonWriter json = new JsonWriter(response.getWriter());
+            
+            json.beginObject().name("suggestions").beginArray();
+            for (TitleTrie.Suggestion suggestion : boardService.suggestTitles(prefix, limit)) {
+                json.beginObject()
+                    .name("boardId").value(suggestion.getBoardId())
+                    .name("title").value(suggestion.getTitle())
+                    .endObject();
+            }
+            json.endArray().endObject();
+            json.flush();
+            
+        } catch (Exception e) {
+            logger.error("【タイトル補完】エラー発生: " + e.getMessage(), e);
+        }
+        
+        return NONE;
+    }
+    
+    /**
+     * 一覧1件分をJSONオブジェクトとして出力
+     */
+    private static void writeListItem(JsonWriter json, BoardListResponse row) {
+        try {
+            json.beginObject()
+                .name("boardId").value(row.getBoardId())
+                .name("category").value(row.getCategory())
+                .name("title").value(row.getTitle())
+                .name("writer").value(row.getWriter())
+                .name("viewCount").value(row.getViewCount())
+                .name("likeCount").value(row.getLikeCount())
+                .name("dislikeCount").value(row.getDislikeCount())
+                .name("commentCount").value(row.getCommentCount())
+                .name("createdAt").value(row.getCreatedAt() != null
+                        ? row.getCreatedAt().toInstant().toString() : null)
+                .name("fileName").value(row.getFileName())
+                .endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /*
      * 掲示板詳細照会
      * 
@@ -372,13 +639,25 @@ public class BoardAction extends ActionSupport {
     public String detail() {
         logger.info("【詳細表示】detail()メソッド開始 - boardId: " + boardId);
         
-        // ServiceからDTO取得
-        item = boardService.getBoardDetail(boardId);
+        // 前回表示から投稿・コメントに変更がなければ304（閲覧数も増やさない）
+        if (ConditionalGetUtil.isNotModified(ServletActionContext.getRequest(),
+                ServletActionContext.getResponse(),
+                BoardVersionStamp.getDetailETag(boardId),
+                BoardVersionStamp.getDetailLastModified(boardId))) {
+            logger.debug("【詳細表示】変更なし（304） - boardId: " + boardId);
+            return NONE;
+        }
+        
+        // ServiceからDTO取得（投稿とコメントを1回のSQLで取得）
+        item = boardService.getBoardDetail(boardId,
+                ServletActionContext.getRequest().getRemoteAddr());
         
         if (item != null) {
-            // コメント取得
-            comments = CommentDao.getCommentsByBoardId(boardId);
-            logger.debug("【詳細表示】投稿表示成功 - コメント数: " + comments.size());
+            // コメントは投稿と同じクエリで取得済み
+            comments = item.getComments();
+            commentCount = item.getCommentCount();
+            commentNextCursor = item.getCommentNextCursor();
+            logger.debug("【詳細表示】投稿表示成功 - コメント数: " + commentCount);
             return "detail";
         } else {
             addActionError("投稿が見つかりませんでした");
@@ -474,13 +753,13 @@ public class BoardAction extends ActionSupport {
             this.title = item.getTitle();
             this.content = item.getContent();
             this.writer = item.getWriter();
+            this.version = item.getVersion();
             
             logger.debug("【編集フォーム】編集画面表示 - boardId: " + boardId);
             return "edit";
         } else {
             logger.error("【編集フォーム】投稿が見つかりませんでした - boardId: " + boardId);
             addActionError("投稿が見つかりませんでした");
-            data = boardService.getBoardList(null, null);
             return "list";
         }
     }
@@ -510,7 +789,6 @@ public class BoardAction extends ActionSupport {
                 } catch (Exception e) {
                     logger.error("【編集】ファイル保存失敗: " + e.getMessage(), e);
                     addActionError(e.getMessage());
-                    data = boardService.getBoardList(null, null);
                     return "list";
                 }
             }
@@ -528,20 +806,40 @@ public class BoardAction extends ActionSupport {
                 );
             }
             
-            // 3. Service呼び出し
-            boolean success = boardService.updateBoard(request);
+            request.setVersion(version);
             
-            if (success) {
+            // 3. Service呼び出し（存在確認・バージョン確認・更新を1文で実行）
+            BoardWriteResult.Status status = boardService.updateBoard(request);
+            
+            switch (status) {
+            case SUCCESS:
                 logger.debug("【編集】更新成功 - boardId: " + boardId);
-            } else {
-                logger.error("【編集】更新失敗 - boardId: " + boardId);
+                break;
+            case CONFLICT:
+                // 入力内容を残したまま編集画面へ戻し、最新のバージョンで再送信できるようにする
+                logger.warn("【編集】更新競合 - boardId: " + boardId + ", version: " + version);
+                item = boardService.getBoardForEdit(boardId);
+                if (item != null) {
+                    version = item.getVersion();
+                    addActionError("他のユーザーが先にこの投稿を更新しました。"
+                            + "内容を確認のうえ、もう一度更新してください");
+                    return "edit";
+                }
                 addActionError("投稿が見つかりませんでした");
+                break;
+            case NOT_FOUND:
+                logger.error("【編集】更新失敗（投稿なし） - boardId: " + boardId);
+                addActionError("投稿が見つかりませんでした");
+                break;
+            default:
+                logger.error("【編集】更新失敗 - boardId: " + boardId);
+                addActionError("更新に失敗しました");
+                break;
             }
         } else {
             logger.error("【編集】入力値エラー");
             addActionError("すべて入力してください");
         }
-        data = boardService.getBoardList(null, null);
         return "list";
 
     }
@@ -555,19 +853,60 @@ public class BoardAction extends ActionSupport {
     public String delete() {
         logger.info("【削除】delete()メソッド開始 - boardId: " + boardId);
         
-        // Service呼び出し
-        boolean success = boardService.deleteBoard(boardId);
+        // Service呼び出し（versionは詳細画面からの削除時のみ指定される）
+        BoardWriteResult.Status status = boardService.deleteBoard(boardId, version);
         
-        if (!success) {
+        if (status == BoardWriteResult.Status.SUCCESS) {
+            logger.info("【削除】削除成功 - boardId: " + boardId);
+        } else if (status == BoardWriteResult.Status.CONFLICT) {
+            logger.warn("【削除】削除競合 - boardId: " + boardId + ", version: " + version);
+            addActionError("他のユーザーが先にこの投稿を更新しました");
+        } else {
             logger.error("【削除】削除失敗 - boardId: " + boardId);
             addActionError("投稿が見つかりませんでした");
-        } else {
-            logger.info("【削除】削除成功 - boardId: " + boardId);
         }
         
         return "list";
     }
 
+    /*
+     * いいね
+     * 
+     * 呼び出しタイミング:
+     * - boardLike.action（詳細画面のフォームからPOST、boardId=1）
+     */
+    public String like() {
+        return vote(true);
+    }
+
+    /*
+     * よくないね
+     * 
+     * 呼び出しタイミング:
+     * - boardDislike.action（詳細画面のフォームからPOST、boardId=1）
+     */
+    public String dislike() {
+        return vote(false);
+    }
+
+    /**
+     * 投票共通処理（重複投票は無視して詳細画面へ戻る）
+     */
+    private String vote(boolean like) {
+        logger.debug("【投票】開始 - boardId: " + boardId + ", like: " + like);
+        
+        if (ServletActionContext.getRequest().getMethod().equals("GET")) {
+            // リンクの先読み・クローラーによる投票を防ぐ
+            return "detail";
+        }
+        
+        boolean accepted = boardService.vote(boardId, 
+                ServletActionContext.getRequest().getRemoteAddr(), like);
+        logger.debug("【投票】結果 - boardId: " + boardId + ", 受付: " + accepted);
+        
+        return "detail";
+    }
+
     /*
 	 * 入力値検証
 	 * 
@@ -3,6 +3,7 @@ package action;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -11,7 +12,11 @@ import org.apache.struts2.ServletActionContext;
 import com.opensymphony.xwork2.ActionSupport;
 
 import dao.CommentDao;
+import dto.response.CommentPageResponse;
 import model.CommentData;
+import service.CommentService;
+import util.CommentJson;
+import util.JsonWriter;
 
 /**
  * 【CommentActionクラス】
@@ -27,6 +32,9 @@ public class CommentAction extends ActionSupport {
     // ========== ロガー ==========
     private static final Logger logger = LogManager.getLogger(CommentAction.class);
     
+    // ========== Service ==========
+    private CommentService commentService = new CommentService();
+    
     // ========== フィールド ==========
     private long commentId;      // コメントID（編集・削除時に使用）
     private long boardId;        // 投稿ID（必須）
@@ -34,8 +42,10 @@ public class CommentAction extends ActionSupport {
     private String content;      // コメント内容
     private String ipAddress;    // IPアドレス
     private Long parentCommentId; // 親コメントID（返信の場合のみ）
+    private Long afterId;        // コメント一覧・返信一覧の続き用カーソル（このコメントIDより後）
     
-    private List<CommentData> comments; // コメント一覧
+    private List<CommentData> comments; // コメント一覧（親コメント、返信は件数のみ）
+    private Long commentNextCursor;     // 次ページ用カーソル（次ページなしの場合null）
     private CommentData comment;        // 単一コメント
     
     private static final long serialVersionUID = 1L;
@@ -98,6 +108,18 @@ public class CommentAction extends ActionSupport {
         this.comments = comments;
     }
     
+    public Long getAfterId() {
+        return afterId;
+    }
+    
+    public void setAfterId(Long afterId) {
+        this.afterId = afterId;
+    }
+    
+    public Long getCommentNextCursor() {
+        return commentNextCursor;
+    }
+    
     public CommentData getComment() {
         return comment;
     }
@@ -138,10 +160,11 @@ public class CommentAction extends ActionSupport {
         newComment.setParentCommentId(parentCommentId);
         newComment.setIpAddress(ipAddress);
         
-        // データベースに追加
-        boolean success = CommentDao.addComment(newComment);
+        // データベースに追加（登録した行をそのまま受け取る）
+        CommentData added = commentService.addComment(newComment);
         
-        if (success) {
+        if (added != null) {
+            boardId = added.getBoardId();
             logger.debug("【コメント追加】追加成功 - board_id: " + boardId);
             return "success";
         } else {
@@ -152,20 +175,82 @@ public class CommentAction extends ActionSupport {
     }
     
     /**
-     * コメント一覧取得
-     * 呼び出し元: 投稿詳細ページ
-     * @return コメント一覧を含むページ
+     * コメント一覧取得（1ページ分）
+     * 呼び出し元: 投稿詳細ページの「もっと見る」（afterId以降の親コメントと各返信数）
+     * @return コメント一覧の断片（詳細ページのコメント一覧に追加される）
      */
     public String list() {
-        logger.info("【コメント一覧】list()メソッド開始 - board_id: " + boardId);
+        logger.info("【コメント一覧】list()メソッド開始 - board_id: " + boardId + ", afterId: " + afterId);
+        
+        List<CommentData> flat = CommentDao.getCommentPage(boardId, afterId, CommentPageResponse.PAGE_SIZE);
         
-        comments = CommentDao.getCommentsByBoardId(boardId);
+        // 次ページの有無を判定
+        CommentPageResponse page = CommentPageResponse.of(flat, CommentPageResponse.PAGE_SIZE);
+        comments = page.getItems();
+        commentNextCursor = page.getNextCursor();
         
-        logger.debug("【コメント一覧】取得完了 - 件数: " + comments.size());
+        logger.debug("【コメント一覧】取得完了 - 親コメント数: " + comments.size()
+                + ", 次ページ: " + page.isHasNext());
         
         return "success";
     }
     
+    /**
+     * 返信一覧API
+     * 
+     * 呼び出しタイミング:
+     * - commentReplies.action?parentCommentId=...&afterId=...（詳細ページの「返信を表示」「さらに表示」）
+     * 
+     * 詳細ページは親コメントと返信数のみ表示し、返信は開いたスレッドの分だけここから取得する
+     * 
+     * 出力形式:
+     *   {"replies":[{...CommentJson...}, ...], "hasNext":true, "nextCursor":123}
+     * 
+     * @return NONE（レスポンスを直接書き込むため、結果ページなし）
+     */
+    public String replies() {
+        logger.info("【返信一覧JSON】replies()メソッド開始 - parent_comment_id: " + parentCommentId
+                + ", afterId: " + afterId);
+        
+        HttpServletResponse response = ServletActionContext.getResponse();
+        
+        try {
+            response.setContentType("application/json; charset=UTF-8");
+            JsonWriter json = new JsonWriter(response.getWriter());
+            
+            if (parentCommentId == null) {
+                json.beginObject().name("error").value("親コメントIDが不正です").endObject();
+                json.flush();
+                return NONE;
+            }
+            
+            int limit = CommentPageResponse.REPLY_PAGE_SIZE;
+            List<CommentData> replies = CommentDao.getReplies(parentCommentId, afterId, limit);
+            // 1件多く取得した分で次ページの有無を判定
+            boolean hasNext = replies.size() > limit;
+            if (hasNext) {
+                replies = replies.subList(0, limit);
+            }
+            
+            json.beginObject().name("replies").beginArray();
+            for (CommentData reply : replies) {
+                CommentJson.write(json, reply);
+            }
+            json.endArray()
+                .name("hasNext").value(hasNext)
+                .name("nextCursor").value(hasNext ? replies.get(limit - 1).getCommentId() : null)
+                .endObject();
+            json.flush();
+            
+            logger.debug("【返信一覧JSON】取得完了 - 件数: " + replies.size() + ", 次ページ: " + hasNext);
+            
+        } catch (Exception e) {
+            logger.error("【返信一覧JSON】エラー発生: " + e.getMessage(), e);
+        }
+        
+        return NONE;
+    }
+    
     /**
      * コメント編集フォーム表示
      * @return 編集フォームページ
@@ -199,17 +284,11 @@ public class CommentAction extends ActionSupport {
             return "error";
         }
         
-        // 更新前にboardIdを取得（Redirect用）
-        if (boardId == 0) {
-            CommentData comment = CommentDao.getCommentById(commentId);
-            if (comment != null) {
-                boardId = comment.getBoardId();
-            }
-        }
-        
-        boolean success = CommentDao.updateComment(commentId, content);
+        // 更新した行を受け取り、そのboardIdでリダイレクト（更新前後の照会なし）
+        CommentData updated = commentService.updateComment(commentId, content);
         
-        if (success) {
+        if (updated != null) {
+            boardId = updated.getBoardId();
             logger.debug("【コメント更新】更新成功 - comment_id: " + commentId);
             return "success";
         } else {
@@ -226,9 +305,11 @@ public class CommentAction extends ActionSupport {
     public String delete() {
         logger.info("【コメント削除】delete()メソッド開始 - comment_id: " + commentId);
         
-        boolean success = CommentDao.deleteComment(commentId);
+        // 削除した行を受け取り、そのboardIdでリダイレクト
+        CommentData deleted = commentService.deleteComment(commentId);
         
-        if (success) {
+        if (deleted != null) {
+            boardId = deleted.getBoardId();
             logger.debug("【コメント削除】削除成功 - comment_id: " + commentId);
             return "success";
         } else {
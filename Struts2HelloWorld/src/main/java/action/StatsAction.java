@@ -0,0 +1,71 @@
+package action;
+
+import java.io.PrintWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.struts2.ServletActionContext;
+
+import com.opensymphony.xwork2.ActionSupport;
+
+import dao.BoardEntityCache;
+import dao.CommentCache;
+import service.BoardListCache;
+import service.CommentEventHub;
+import service.TrendingTracker;
+import service.ViewCountBuffer;
+import service.ViewDeduplicator;
+import service.VoteBuffer;
+
+/**
+ * 【StatsActionクラス】
+ * キャッシュ等の統計情報を出力するAction
+ *
+ * 呼び出し:
+ * - boardStats.action
+ *
+ * 出力形式（text/plain、1行1項目）:
+ *   listCache.hits=123
+ *   listCache.misses=45
+ */
+public class StatsAction extends ActionSupport {
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger logger = LogManager.getLogger(StatsAction.class);
+
+    /**
+     * 統計情報出力
+     */
+    @Override
+    public String execute() {
+        try {
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.putAll(BoardListCache.getInstance().getStats());
+            stats.putAll(ViewCountBuffer.getInstance().getStats());
+            stats.putAll(BoardEntityCache.getStats());
+            stats.putAll(CommentCache.getStats());
+            stats.putAll(CommentEventHub.getInstance().getStats());
+            stats.putAll(ViewDeduplicator.getInstance().getStats());
+            stats.putAll(VoteBuffer.getInstance().getStats());
+            stats.putAll(TrendingTracker.getInstance().getStats());
+
+            HttpServletResponse response = ServletActionContext.getResponse();
+            response.setContentType("text/plain; charset=UTF-8");
+            response.setHeader("Cache-Control", "no-store");
+
+            PrintWriter writer = response.getWriter();
+            for (Map.Entry<String, Long> entry : stats.entrySet()) {
+                writer.println(entry.getKey() + "=" + entry.getValue());
+            }
+            writer.flush();
+
+        } catch (Exception e) {
+            logger.error("【Stats】出力エラー: " + e.getMessage(), e);
+        }
+        return NONE;
+    }
+}
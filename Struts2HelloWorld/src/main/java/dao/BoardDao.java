@@ -1,14 +1,26 @@
 package dao;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import dto.response.BoardListResponse;
+import entity.BoardDetailRow;
 import entity.BoardEntity;
+import entity.BoardWriteResult;
 import mapper.BoardMapper;
 import util.MyBatisUtil;
+import util.ReadRouting;
 
 /**
  * 【Boardクラス】
@@ -28,6 +40,11 @@ public class BoardDao {
     
 	private static final Logger logger = LogManager.getLogger(BoardDao.class);
 	
+	/**
+	 * addViewCounts・addVoteCountsで1回のUPDATEにまとめる投稿数
+	 */
+	private static final int VIEW_COUNT_BATCH = 500;
+	
     /**
      * 【insert メソッド】
      * 掲示板に新しい投稿を追加する
@@ -50,9 +67,9 @@ public class BoardDao {
      * @param fileName ファイル名
      * @param filePath サーバーに保存されたファイルパス
      * @param fileSize ファイルサイズ(bytes) 
-     * @return 成功時true、失敗時false
+     * @return 採番された投稿ID、失敗時0
      */
-    public static boolean insert(String category, String title, String content, 
+    public static long insert(String category, String title, String content, 
             String writer, String ipAddress,String fileName, String filePath, Long fileSize) {
     	    	logger.info("【BoardDao】insertメソッド開始");
     	// SqlSession: MyBatisのDB接続管理object
@@ -66,24 +83,38 @@ public class BoardDao {
             // 2. Mapper取得
             BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
             
-            // 3. INSERT実行
-            int result = mapper.insert(category, title, content, writer, 
-                                       ipAddress, fileName, filePath, fileSize);
+            // 3. INSERT実行（採番されたboard_idがentityに設定される）
+            BoardEntity entity = new BoardEntity();
+            entity.setCategory(category);
+            entity.setTitle(title);
+            entity.setContent(content);
+            entity.setWriter(writer);
+            entity.setIpAddress(ipAddress);
+            entity.setFileName(fileName);
+            entity.setFilePath(filePath);
+            if (fileSize != null) {
+                entity.setFileSize(fileSize);
+            }
+            int result = mapper.insertEntity(entity);
             
             // 4. commit
             sqlSession.commit();
             
-            logger.debug("【BoardDao】insert 成功: " + result + "件");
+            logger.debug("【BoardDao】insert 成功: " + result + "件, boardId: " + entity.getBoardId());
+            if (result > 0) {
+                // 投稿者の以降の読み取りを一定時間プライマリへ（read-your-writes）
+                ReadRouting.markWrite();
+            }
             
             // 5. 結果を返す
-            return result > 0;
+            return result > 0 ? entity.getBoardId() : 0;
             
         } catch (Exception e) {
             if (sqlSession != null) {
                 sqlSession.rollback();
             }
             logger.error("【BoardDao】insert エラー", e);
-            return false;
+            return 0;
         } finally {
             MyBatisUtil.closeSqlSession(sqlSession);
         }
@@ -118,7 +149,7 @@ public class BoardDao {
         
     	try {
         	// 1. SqlSessionを取得
-            sqlSession = MyBatisUtil.getSqlSession();
+            sqlSession = MyBatisUtil.getReadSqlSession();
             // 2. Mapperインターフェースを取得
             BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
             // 3. メソッド呼び出し
@@ -133,26 +164,305 @@ public class BoardDao {
         }
     }
     
+    /**
+     * 【findPage メソッド】
+     * 掲示板データを1ページ分だけ取得（キーセットページング）
+     *
+     * findAll()と違い、テーブル件数に関係なく limit 件のみ読み込む
+     * カテゴリ・タイトル検索もSQL側で絞り込むため、該当行だけが転送される
+     * 一覧用の列だけを取得し、Entityを経由せずResponse DTOにマッピングする
+     *
+     * @param category カテゴリ（null: 全カテゴリ）
+     * @param keyword タイトル検索キーワード（null: 検索なし）
+     * @param afterId この投稿IDより古いデータを取得（次ページ用、null可）
+     * @param beforeId この投稿IDより新しいデータを取得（前ページ用、null可）
+     * @param limit 取得件数
+     * @return 一覧用データのリスト（beforeId指定時は古い順）、エラー時null
+     */
+    public static List<BoardListResponse> findPage(String category, String keyword,
+            Long afterId, Long beforeId, int limit) {
+
+    	SqlSession sqlSession = null;
+
+    	try {
+            sqlSession = MyBatisUtil.getReadSqlSession();
+            BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+            return mapper.findPage(category, toLikePattern(keyword), afterId, beforeId, limit);
+
+        } catch (Exception e) {
+            logger.error("【BoardDao】findPage エラー", e);
+            return null;
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+
+    /**
+     * 検索キーワードを部分一致用のLIKEパターンに変換
+     * - ワイルドカード文字（%、_）とエスケープ文字をエスケープする
+     *
+     * @param keyword 検索キーワード
+     * @return '%キーワード%' 形式のパターン（キーワードなしの場合null）
+     */
+    private static String toLikePattern(String keyword) {
+        if (keyword == null || keyword.isEmpty()) {
+            return null;
+        }
+        String escaped = keyword.replace("\\", "\\\\")
+                                .replace("%", "\\%")
+                                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * 【findListByIds メソッド】
+     * 指定IDの投稿を一覧用データとしてまとめて取得（1回のSQL）
+     *
+     * @param ids 投稿IDのリスト
+     * @return 一覧用データのリスト（順不同、削除済みは含まない）、エラー時null
+     */
+    public static List<BoardListResponse> findListByIds(List<Long> ids) {
+
+    	SqlSession sqlSession = null;
+
+    	try {
+            sqlSession = MyBatisUtil.getReadSqlSession();
+            BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+            return mapper.findListByIds(ids.toArray(new Long[0]));
+
+        } catch (Exception e) {
+            logger.error("【BoardDao】findListByIds エラー", e);
+            return null;
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+
+    /**
+     * 【streamPage メソッド】
+     * 一覧の1ページ分を1件ずつハンドラへ渡す（JSON API用、Listを作らない）
+     *
+     * @param category カテゴリ（null可）
+     * @param keyword タイトル検索キーワード（null可）
+     * @param afterId この投稿IDより古い投稿（null可）
+     * @param beforeId この投稿IDより新しい投稿（null可）
+     * @param limit 取得件数
+     * @param handler 1件ごとに呼ばれるハンドラ（新しい順）
+     * @return 成功時true、失敗時false
+     */
+    public static boolean streamPage(String category, String keyword, Long afterId, Long beforeId,
+                                     int limit, ResultHandler<BoardListResponse> handler) {
+
+    	SqlSession sqlSession = null;
+
+    	try {
+            sqlSession = MyBatisUtil.getReadSqlSession();
+            BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+            mapper.streamPage(category, toLikePattern(keyword), afterId, beforeId, limit, handler);
+            return true;
+
+        } catch (Exception e) {
+            logger.error("【BoardDao】streamPage エラー", e);
+            return false;
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+
+    /**
+     * 【existsNewer メソッド】
+     * 指定IDより新しい投稿が絞り込み条件内に存在するか
+     *
+     * @param category カテゴリ（null可）
+     * @param keyword タイトル検索キーワード（null可）
+     * @param boardId 基準の投稿ID
+     * @return 存在する場合true（エラー時false）
+     */
+    public static boolean existsNewer(String category, String keyword, long boardId) {
+
+    	SqlSession sqlSession = null;
+
+    	try {
+            sqlSession = MyBatisUtil.getReadSqlSession();
+            BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+            return mapper.existsNewer(category, toLikePattern(keyword), boardId);
+
+        } catch (Exception e) {
+            logger.error("【BoardDao】existsNewer エラー", e);
+            return false;
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+
+    /**
+     * 【streamListByIds メソッド】
+     * 指定IDの投稿を、IDリストの順に1件ずつハンドラへ渡す
+     *
+     * @param ids 投稿IDのリスト（この順で返す）
+     * @param handler 1件ごとに呼ばれるハンドラ
+     * @return 成功時true、失敗時false
+     */
+    public static boolean streamListByIds(List<Long> ids, ResultHandler<BoardListResponse> handler) {
+
+    	SqlSession sqlSession = null;
+
+    	try {
+            sqlSession = MyBatisUtil.getReadSqlSession();
+            BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+            mapper.streamListByIds(ids.toArray(new Long[0]), handler);
+            return true;
+
+        } catch (Exception e) {
+            logger.error("【BoardDao】streamListByIds エラー", e);
+            return false;
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+
+    /**
+     * 【scanForSearchIndex メソッド】
+     * 全文検索インデックス構築用に、有効な投稿を1件ずつハンドラへ渡す
+     *
+     * 全件をListに保持しないため、投稿数が多くてもヒープを圧迫しない
+     *
+     * @param handler 1件ごとに呼ばれるハンドラ
+     * @return 成功時true、失敗時false
+     */
+    public static boolean scanForSearchIndex(ResultHandler<BoardEntity> handler) {
+
+    	SqlSession sqlSession = null;
+
+    	try {
+            sqlSession = MyBatisUtil.getSqlSession();
+            BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+            mapper.scanForSearchIndex(handler);
+            return true;
+
+        } catch (Exception e) {
+            logger.error("【BoardDao】scanForSearchIndex エラー", e);
+            return false;
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+
+    /**
+     * 【scanTitles メソッド】
+     * タイトル補完用に、有効な投稿のIDとタイトルを1件ずつハンドラへ渡す
+     *
+     * @param handler 1件ごとに呼ばれるハンドラ
+     * @return 成功時true、失敗時false
+     */
+    public static boolean scanTitles(ResultHandler<BoardEntity> handler) {
+
+    	SqlSession sqlSession = null;
+
+    	try {
+            sqlSession = MyBatisUtil.getSqlSession();
+            BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+            mapper.scanTitles(handler);
+            return true;
+
+        } catch (Exception e) {
+            logger.error("【BoardDao】scanTitles エラー", e);
+            return false;
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+
+    /**
+     * 【countByCategory メソッド】
+     * カテゴリ別の有効な投稿件数を1回のGROUP BYで取得
+     *
+     * @return カテゴリ → 件数（カテゴリ未設定の投稿は空文字のキー）、失敗時null
+     */
+    public static Map<String, Long> countByCategory() {
+
+    	SqlSession sqlSession = null;
+
+    	try {
+            sqlSession = MyBatisUtil.getSqlSession();
+            BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+            List<Map<String, Object>> rows = mapper.countByCategory();
+
+            Map<String, Long> counts = new HashMap<>();
+            for (Map<String, Object> row : rows) {
+                Object category = row.get("category");
+                Number count = (Number) row.get("cnt");
+                counts.put(category != null ? category.toString() : "", count.longValue());
+            }
+            logger.debug("【BoardDao】countByCategory 完了: " + counts);
+            return counts;
+
+        } catch (Exception e) {
+            logger.error("【BoardDao】countByCategory エラー", e);
+            return null;
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+
+    /**
+     * 【findDetailRows メソッド】
+     * 詳細画面用に、投稿とコメント（最初の1ページ分）を1回のSQL（1回のコネクション取得）で取得
+     *
+     * @param boardId 投稿ID
+     * @param commentLimit 1ページの親コメント数
+     * @return 投稿 × コメントの結合行（投稿がない・削除済みの場合は空）、エラー時null
+     */
+    public static List<BoardDetailRow> findDetailRows(long boardId, int commentLimit) {
+
+    	SqlSession sqlSession = null;
+
+    	try {
+            sqlSession = MyBatisUtil.getReadSqlSession();
+            BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+            return mapper.findDetailRows(boardId, commentLimit);
+
+        } catch (Exception e) {
+            logger.error("【BoardDao】findDetailRows エラー", e);
+            return null;
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+
     /**
      * Mapper.xmlLに#{boardId}と記述
      * 自動的にパラメータがバインドされる
      * 
+     * BoardEntityCacheを先に参照し、なければDBから取得してキャッシュに登録
+     * （返すEntityはキャッシュと共有されるため変更しないこと）
+     * 
      * @param id 取得したい投稿のID
      * @return 見つかった投稿データ、見つからない場合はnull
      */
     public static BoardEntity findById(long boardId) {
     	
+    	BoardEntity cached = BoardEntityCache.get(boardId);
+    	if (cached != null) {
+    	    return cached;
+    	}
+    	long generation = BoardEntityCache.currentGeneration();
+    	
     	SqlSession sqlSession = null;
         
         try {
-            sqlSession = MyBatisUtil.getSqlSession();
+            sqlSession = MyBatisUtil.getReadSqlSession();
             BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
             
-            // IDを渡すだけでSQL実行とマッピングが完了
-            return mapper.findById(boardId);
+            // IDを渡すだけでSQL実行とマッピングが完了（version列を含む注釈SQL）
+            BoardEntity entity = mapper.findEntityById(boardId);
+            if (entity != null) {
+                BoardEntityCache.put(entity, generation, MyBatisUtil.isReplica(sqlSession));
+            }
+            return entity;
             /*
              * #{boardId}の仕組み:
-             * - XMLで#{boardId}と記述
+             * - SQLで#{boardId}と記述
              * - MyBatisが自動的にPreparedStatementのパラメータに設定
              * - SQLインジェクション対策も自動
              */
@@ -167,30 +477,88 @@ public class BoardDao {
     }
     
     /**
-     * 【updateData メソッド】
-     * 投稿を更新する
+     * 【findByIds メソッド】
+     * 複数の投稿をまとめて取得する
      * 
-     * 更新条件
-     * board_id = #{boardId}
-     * is_deleted = FALSE (削除済みは更新不可)
-     * MyBatis方式
-     * パラメータを渡すだけ
-     * XMLで更新条件を記述
+     * - BoardEntityCacheにある投稿はキャッシュから取得
+     * - キャッシュにない投稿だけを1回のSQL（ANY(配列)）で取得し、キャッシュに登録
+     *   （findByIdを件数分呼ぶと、件数分のコネクション取得・往復が発生する）
+     * 
+     * @param boardIds 取得したい投稿IDのリスト（重複は1件にまとめる）
+     * @return 見つかった投稿（指定順、なし・削除済みは含まない）、エラー時null
+     */
+    public static List<BoardEntity> findByIds(Collection<Long> boardIds) {
+    	
+    	// 1. 指定順を保ったまま重複を除き、キャッシュを参照
+    	Map<Long, BoardEntity> found = new LinkedHashMap<>();
+    	List<Long> missing = new ArrayList<>();
+    	for (Long boardId : boardIds) {
+    	    if (boardId == null || found.containsKey(boardId)) {
+    	        continue;
+    	    }
+    	    BoardEntity cached = BoardEntityCache.get(boardId);
+    	    found.put(boardId, cached);
+    	    if (cached == null) {
+    	        missing.add(boardId);
+    	    }
+    	}
+    	
+    	// 2. キャッシュにない投稿を1回のSQLで取得
+    	if (!missing.isEmpty()) {
+    	    long generation = BoardEntityCache.currentGeneration();
+    	    SqlSession sqlSession = null;
+    	    try {
+    	        sqlSession = MyBatisUtil.getReadSqlSession();
+    	        BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+    	        boolean fromReplica = MyBatisUtil.isReplica(sqlSession);
+    	        for (BoardEntity entity : mapper.findEntitiesByIds(missing.toArray(new Long[0]))) {
+    	            found.put(entity.getBoardId(), entity);
+    	            BoardEntityCache.put(entity, generation, fromReplica);
+    	        }
+    	    } catch (Exception e) {
+    	        logger.error("【BoardDao】findByIds エラー", e);
+    	        return null;
+    	    } finally {
+    	        MyBatisUtil.closeSqlSession(sqlSession);
+    	    }
+    	}
+    	
+    	// 3. 指定順に並べる（見つからなかった投稿は除く）
+    	List<BoardEntity> result = new ArrayList<>(found.size());
+    	for (BoardEntity entity : found.values()) {
+    	    if (entity != null) {
+    	        result.add(entity);
+    	    }
+    	}
+    	logger.debug("【BoardDao】findByIds 完了 - 指定: " + found.size()
+    	        + "件, DB照会: " + missing.size() + "件, 取得: " + result.size() + "件");
+    	return result;
+    }
+    
+    /**
+     * 【update メソッド】
+     * 投稿を更新する（バージョン確認付き）
      * 
-     * @param id 更新対象の投稿ID
+     * 存在確認・競合確認・更新を1文のSQL（updateIfVersion）で行う
+     * - 事前のfindByIdが不要（往復1回）
+     * - 確認から更新までの間に他の更新が入る余地がない
+     * 
+     * @param boardId 更新対象の投稿ID
+     * @param version 編集フォームで読み込んだバージョン（nullの場合は確認しない）
      * @param category カテゴリ
      * @param title タイトル
      * @param content 本文
      * @param writer 作成者名
-     * @param fileName ファイル名
+     * @param fileName ファイル名（新しいファイルがある場合のみ）
      * @param filePath サーバーに保存されたファイルパス
      * @param fileSize ファイルサイズ(bytes)
-     * @return 成功時true、失敗時false
+     * @return 書き込み結果（成功・投稿なし・競合・エラー）
      */
-    public static boolean update(long boardId, String category, String title, 
-    		String writer, String content, String fileName, String filePath, Long fileSize) {
+    public static BoardWriteResult update(long boardId, Integer version, String category,
+            String title, String content, String writer,
+            String fileName, String filePath, Long fileSize) {
         
-    	logger.info("【BoardDao】updateメソッド開始 boardId: " + boardId);
+    	logger.info("【BoardDao】updateメソッド開始 boardId: " + boardId + ", version: " + version);
         
         SqlSession sqlSession = null;
         
@@ -201,34 +569,30 @@ public class BoardDao {
             // 2. Mapper取得
             BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
             
-            // 3. UPDATE実行
-            int result = mapper.update(boardId, category, title, writer, content,
-                                       fileName, filePath, fileSize);
-            /*
-             * mapper.update()の動作:
-             * 1. BoardMapper.xmlのupdateSQLを実行
-             * 2. XMLの<if test="fileName != null and fileName != ''">で
-             *    ファイル更新の有無を判定
-             * 3. 条件に応じて動的にSQL文が生成
-             */
+            // 3. UPDATE ... RETURNING 実行
+            BoardWriteResult result = mapper.updateIfVersion(boardId, version, category, title,
+                    content, writer, fileName, filePath, fileSize);
             
-            // 4. コミット
-            sqlSession.commit();
+            // 4. コミット（SELECT文として実行するため強制コミット）
+            sqlSession.commit(true);
             
-            logger.debug("【BoardDao】update 成功: " + result + "件");
+            logger.debug("【BoardDao】update 結果: " + result.getStatus());
+            if (result.getStatus() == BoardWriteResult.Status.SUCCESS) {
+                ReadRouting.markWrite();
+                BoardEntityCache.invalidate(boardId);
+            }
             
             // 5. 結果を返す
-            return result > 0;
+            return result;
             
         } catch (Exception e) {
             // エラー時の処理
             if (sqlSession != null) {
-                sqlSession.rollback();
-                
+                sqlSession.rollback(true);
             }
             
             logger.error("【BoardDao】update エラー", e);
-            return false;
+            return BoardWriteResult.error();
             
         } finally {
             MyBatisUtil.closeSqlSession(sqlSession);
@@ -237,17 +601,18 @@ public class BoardDao {
     }
     
     /**
-     * 【deleteData メソッド】
-     * 投稿を削除する
-     * Mapperメソッド呼び出しのみ
-     * XMLでUPDATE文を記述
+     * 【delete メソッド】
+     * 投稿を論理削除する（バージョン確認付き）
      * 
-     * @param id 削除対象の投稿ID
-     * @return 成功時true、失敗時false
+     * 存在確認・競合確認・削除を1文のSQL（deleteIfVersion）で行う
+     * 
+     * @param boardId 削除対象の投稿ID
+     * @param version 画面で読み込んだバージョン（nullの場合は確認しない）
+     * @return 書き込み結果（成功・投稿なし・競合・エラー）
      */
-    public static boolean delete(long boardId) {
+    public static BoardWriteResult delete(long boardId, Integer version) {
         
-    	logger.info("【BoardDao】deleteメソッド開始 boardId: " + boardId);
+    	logger.info("【BoardDao】deleteメソッド開始 boardId: " + boardId + ", version: " + version);
         
         SqlSession sqlSession = null;
         
@@ -255,31 +620,28 @@ public class BoardDao {
             sqlSession = MyBatisUtil.getSqlSession();
             BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
             
-            // 論理削除実行
-            int result = mapper.delete(boardId);
-            /*
-             * DELETE文の構造:
-             * UPDATE board_data SET is_deleted = TRUE
-             * WHERE board_id = #{boardId} AND is_deleted = FALSE
-             * 
-             * is_deleted = FALSE 条件により、既に削除済みのデータは対象外
-             */
+            // 論理削除実行（UPDATE ... SET is_deleted = TRUE ... RETURNING）
+            BoardWriteResult result = mapper.deleteIfVersion(boardId, version);
             
-            // コミット
-            sqlSession.commit();
+            // コミット（SELECT文として実行するため強制コミット）
+            sqlSession.commit(true);
             
-            logger.debug("【BoardDao】delete 成功: " + result + "件");
+            logger.debug("【BoardDao】delete 結果: " + result.getStatus());
+            if (result.getStatus() == BoardWriteResult.Status.SUCCESS) {
+                ReadRouting.markWrite();
+                BoardEntityCache.invalidate(boardId);
+            }
             
             // 結果を返す
-            return result > 0;
+            return result;
             
         } catch (Exception e) {
             if (sqlSession != null) {
-                sqlSession.rollback();
+                sqlSession.rollback(true);
             }
             
             logger.error("【BoardDao】delete エラー", e);
-            return false;
+            return BoardWriteResult.error();
         } finally {
             MyBatisUtil.closeSqlSession(sqlSession);
         }
@@ -294,8 +656,8 @@ public class BoardDao {
      * パラメータはboardIdのみ
      * 
      * 使用箇所:
-     * - 詳細画面を表示した時に呼ばれる
-     * - 閲覧数をカウントアップ
+     * - 以前: 詳細画面を表示するたびに呼ばれていた
+     * - 現在: 詳細表示はViewCountBufferに加算し、addViewCountsでまとめて反映
      * 
      * @param id 対象の投稿ID
      */
@@ -306,7 +668,7 @@ public class BoardDao {
             sqlSession = MyBatisUtil.getSqlSession();
             BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
             
-            // 閲覧数増加
+            // 閲覧数増加（BoardVersionStampは進めない：詳細表示ごとにETagが変わるため）
             mapper.incrementViewCount(boardId);
 
             // コミット
@@ -325,4 +687,131 @@ public class BoardDao {
         }
 
     }
-}
\ No newline at end of file
+
+    /**
+     * 【addViewCounts メソッド】
+     * 複数投稿の閲覧数をまとめて加算する（1トランザクション）
+     *
+     * - 投稿ID順に並べてから更新する（行ロックの取得順を揃える）
+     * - VIEW_COUNT_BATCH件ごとに1回のUPDATE
+     *
+     * @param deltas 投稿ID → 加算値
+     * @return 成功時true、失敗時false（ロールバック済み）
+     */
+    public static boolean addViewCounts(Map<Long, Long> deltas) {
+
+        if (deltas.isEmpty()) {
+            return true;
+        }
+
+        SqlSession sqlSession = null;
+
+        try {
+            sqlSession = MyBatisUtil.getSqlSession();
+            BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+
+            List<Long> ids = new ArrayList<>();
+            List<Long> values = new ArrayList<>();
+            int updated = 0;
+            for (Map.Entry<Long, Long> entry : new TreeMap<>(deltas).entrySet()) {
+                ids.add(entry.getKey());
+                values.add(entry.getValue());
+                if (ids.size() == VIEW_COUNT_BATCH) {
+                    updated += mapper.addViewCounts(ids.toArray(new Long[0]), values.toArray(new Long[0]));
+                    ids.clear();
+                    values.clear();
+                }
+            }
+            if (!ids.isEmpty()) {
+                updated += mapper.addViewCounts(ids.toArray(new Long[0]), values.toArray(new Long[0]));
+            }
+
+            sqlSession.commit();
+
+            // キャッシュ中のEntityにも同じ件数を加算（破棄すると人気投稿ほどDBから読み直すため）
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                BoardEntityCache.addViewCount(entry.getKey(), entry.getValue());
+            }
+
+            logger.debug("【BoardDao】addViewCounts 成功: " + updated + "件");
+            return true;
+
+        } catch (Exception e) {
+            if (sqlSession != null) {
+                sqlSession.rollback();
+            }
+            logger.error("【BoardDao】addViewCounts エラー", e);
+            return false;
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+
+    /**
+     * 【addVoteCounts メソッド】
+     * 複数投稿のいいね・よくないね数をまとめて加算する（1トランザクション）
+     *
+     * - addViewCountsと同じく投稿ID順・VIEW_COUNT_BATCH件ごとに更新
+     * - 存在しない投稿IDは対象行がないため無視される（投票時に存在確認をしないため）
+     *
+     * @param likes 投稿ID → いいね加算値
+     * @param dislikes 投稿ID → よくないね加算値
+     * @return 成功時true、失敗時false（ロールバック済み）
+     */
+    public static boolean addVoteCounts(Map<Long, Long> likes, Map<Long, Long> dislikes) {
+
+        TreeSet<Long> boardIds = new TreeSet<>(likes.keySet());
+        boardIds.addAll(dislikes.keySet());
+        if (boardIds.isEmpty()) {
+            return true;
+        }
+
+        SqlSession sqlSession = null;
+
+        try {
+            sqlSession = MyBatisUtil.getSqlSession();
+            BoardMapper mapper = sqlSession.getMapper(BoardMapper.class);
+
+            List<Long> ids = new ArrayList<>();
+            List<Long> likeValues = new ArrayList<>();
+            List<Long> dislikeValues = new ArrayList<>();
+            int updated = 0;
+            for (Long boardId : boardIds) {
+                ids.add(boardId);
+                likeValues.add(likes.getOrDefault(boardId, 0L));
+                dislikeValues.add(dislikes.getOrDefault(boardId, 0L));
+                if (ids.size() == VIEW_COUNT_BATCH) {
+                    updated += mapper.addVoteCounts(ids.toArray(new Long[0]),
+                            likeValues.toArray(new Long[0]), dislikeValues.toArray(new Long[0]));
+                    ids.clear();
+                    likeValues.clear();
+                    dislikeValues.clear();
+                }
+            }
+            if (!ids.isEmpty()) {
+                updated += mapper.addVoteCounts(ids.toArray(new Long[0]),
+                        likeValues.toArray(new Long[0]), dislikeValues.toArray(new Long[0]));
+            }
+
+            sqlSession.commit();
+
+            // キャッシュ中のEntityにも同じ件数を加算（破棄すると人気投稿ほどDBから読み直すため）
+            for (Long boardId : boardIds) {
+                BoardEntityCache.addVoteCounts(boardId,
+                        likes.getOrDefault(boardId, 0L), dislikes.getOrDefault(boardId, 0L));
+            }
+
+            logger.debug("【BoardDao】addVoteCounts 成功: " + updated + "件");
+            return true;
+
+        } catch (Exception e) {
+            if (sqlSession != null) {
+                sqlSession.rollback();
+            }
+            logger.error("【BoardDao】addVoteCounts エラー", e);
+            return false;
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package dao;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import entity.BoardEntity;
+import util.CountMinSketch;
+
+/**
+ * 【BoardEntityCacheクラス】
+ * BoardDao.findById()・findByIds()の結果（BoardEntity）のキャッシュ
+ *
+ * 役割:
+ * - 編集フォーム・更新・削除・ダウンロードで繰り返される同じ投稿の照会をDBに送らない
+ * - BoardDaoの更新・削除で該当の投稿を破棄
+ * - 閲覧数・投票数の反映では破棄せず、キャッシュ中のEntityの件数だけを加算する
+ *   （破棄すると閲覧・投票の集中する人気投稿ほど、反映のたびにDBから読み直すことになるため）
+ * - ヒット率・追い出し件数などの統計を提供
+ *
+ * 容量と追い出し（頻度を考慮したLRU）:
+ * - 最大MAX_ENTRIES件。満杯時は最も長く使われていない投稿が追い出し候補
+ * - 参照回数をCountMinSketchで近似的に数え、新しい投稿の参照回数が
+ *   候補より多い場合のみ入れ替える（1回しか見られない投稿で人気の投稿を押し出さない）
+ * - 参照回数はSAMPLE_SIZE回ごとに半減（過去の人気を徐々に忘れる）
+ *
+ * 有効期限: TTL_MILLIS経過したエントリは使わずDBから読み直す
+ *
+ * 読み込み中に変更された投稿・レプリカの反映待ちの投稿は登録しない（判定はCacheGuard）
+ *
+ * 取得したEntityは共有されるため、呼び出し側で変更しないこと（件数の加算はこのクラスのみが行う）
+ */
+public class BoardEntityCache {
+
+    // ========== 定数定義 ==========
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private static final long TTL_MILLIS = 60_000;
+
+    /**
+     * 参照回数を半減する間隔（参照回数の記録回数）
+     */
+    private static final int SAMPLE_SIZE = MAX_ENTRIES * 10;
+
+    // ========== キャッシュ本体 ==========
+
+    private static final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static final CountMinSketch frequency = new CountMinSketch(MAX_ENTRIES * 4);
+
+    private static int samples = 0;
+
+    /**
+     * 登録可否の判定（世代番号・レプリカの反映待ち）と共通の統計
+     */
+    private static final CacheGuard guard = new CacheGuard("entityCache");
+
+    // ========== 統計 ==========
+
+    /**
+     * 満杯時に参照回数が少なく登録しなかった件数
+     */
+    private static long rejections = 0;
+
+    private static class Entry {
+        final BoardEntity entity;
+        final long expiresAt;
+
+        Entry(BoardEntity entity, long expiresAt) {
+            this.entity = entity;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private BoardEntityCache() {
+    }
+
+    // ========== 参照・登録 ==========
+
+    /**
+     * キャッシュ参照（参照回数も記録）
+     *
+     * @param boardId 投稿ID
+     * @return キャッシュ済みのEntity（なし・期限切れの場合null）
+     */
+    public static synchronized BoardEntity get(long boardId) {
+        recordAccess(boardId);
+        Entry entry = entries.get(boardId);
+        if (entry == null) {
+            guard.miss();
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(boardId);
+            guard.expired();
+            return null;
+        }
+        guard.hit();
+        return entry.entity;
+    }
+
+    /**
+     * 現在の通し番号（DB読み込み前に取得する）
+     */
+    public static synchronized long currentGeneration() {
+        return guard.currentGeneration();
+    }
+
+    /**
+     * キャッシュ登録
+     *
+     * @param entity DBから読み込んだEntity
+     * @param loadedGeneration 読み込み開始時の通し番号
+     * @param fromReplica レプリカから読み込んだ場合true
+     */
+    public static synchronized void put(BoardEntity entity, long loadedGeneration,
+            boolean fromReplica) {
+        long boardId = entity.getBoardId();
+        if (!guard.admits(boardId, loadedGeneration, fromReplica)) {
+            return;
+        }
+        Entry entry = new Entry(entity, System.currentTimeMillis() + TTL_MILLIS);
+
+        if (entries.containsKey(boardId) || entries.size() < MAX_ENTRIES) {
+            entries.put(boardId, entry);
+            return;
+        }
+
+        // 満杯: 最も長く使われていない投稿と参照回数を比較
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        Map.Entry<Long, Entry> victim = eldest.next();
+        if (frequency.estimate(boardId) > frequency.estimate(victim.getKey())) {
+            eldest.remove();
+            guard.evicted();
+            entries.put(boardId, entry);
+        } else {
+            rejections++;
+        }
+    }
+
+    private static void recordAccess(long boardId) {
+        frequency.increment(boardId);
+        if (++samples >= SAMPLE_SIZE) {
+            frequency.halve();
+            samples = 0;
+        }
+    }
+
+    // ========== 無効化 ==========
+
+    /**
+     * 投稿の更新・削除・コメント数の変更時
+     *
+     * @param boardId 投稿ID
+     */
+    public static synchronized void invalidate(long boardId) {
+        guard.markChanged(boardId);
+        if (entries.remove(boardId) != null) {
+            guard.invalidated();
+        }
+    }
+
+    /**
+     * 閲覧数のDB反映後（コミット済みの加算をキャッシュ中のEntityにも加える）
+     *
+     * @param boardId 投稿ID
+     * @param views 閲覧数の加算値
+     */
+    public static synchronized void addViewCount(long boardId, long views) {
+        // 読み込み中・レプリカからの結果は反映前の件数の可能性があるため、変更として記録
+        guard.markChanged(boardId);
+        Entry entry = entries.get(boardId);
+        if (entry != null) {
+            entry.entity.setViewCount((int) (entry.entity.getViewCount() + views));
+        }
+    }
+
+    /**
+     * 投票数のDB反映後（コミット済みの加算をキャッシュ中のEntityにも加える）
+     *
+     * @param boardId 投稿ID
+     * @param likes いいね数の加算値
+     * @param dislikes よくないね数の加算値
+     */
+    public static synchronized void addVoteCounts(long boardId, long likes, long dislikes) {
+        // 読み込み中・レプリカからの結果は反映前の件数の可能性があるため、変更として記録
+        guard.markChanged(boardId);
+        Entry entry = entries.get(boardId);
+        if (entry != null) {
+            entry.entity.setLikeCount((int) (entry.entity.getLikeCount() + likes));
+            entry.entity.setDislikeCount((int) (entry.entity.getDislikeCount() + dislikes));
+        }
+    }
+
+    // ========== 統計 ==========
+
+    /**
+     * 統計情報を名前→値の形式で取得
+     */
+    public static synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("entityCache.size", (long) entries.size());
+        stats.put("entityCache.maxSize", (long) MAX_ENTRIES);
+        guard.putStats(stats);
+        stats.put("entityCache.rejections", rejections);
+        return stats;
+    }
+}
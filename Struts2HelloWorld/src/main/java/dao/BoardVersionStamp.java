@@ -0,0 +1,208 @@
+package dao;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import util.MyBatisUtil;
+import util.ReadRouting;
+
+/**
+ * 【BoardVersionStampクラス】
+ * 掲示板データのバージョン番号（HTTP条件付きGET用）
+ *
+ * 役割:
+ * - 書き込みのコミット後、BoardListCacheの無効化に続けてバージョンを進める
+ *   （一覧キャッシュより先にETagだけが新しくならないように）
+ * - 一覧・詳細画面のETag / Last-Modifiedを、DBを読まずに決定する
+ *
+ * バージョンの種類:
+ * - 全体: 投稿の登録・更新・削除、コメントの変更、投票のDB反映で進む（一覧画面用）
+ * - 投稿別: その投稿の更新・削除、コメントの追加・更新・削除、投票の受付で進む（詳細画面用）
+ *
+ * 起動時刻をETagに含めるため、再起動後は必ず別のETagになる
+ * （再起動前の変更を取りこぼさない）
+ *
+ * 投稿別のバージョンはMAX_TRACKED_POSTS件まで保持する
+ * - 超えたら古い半分を削除し、削除した中で最新のバージョンを「下限」として記録
+ * - 保持していない投稿のETagは下限のバージョンを使う
+ *   （削除前以上のバージョンになるため、古いETagに戻って誤って304を返すことはない）
+ *
+ * 閲覧数の増加ではバージョンを進めない
+ * （詳細表示のたびにETagが変わり、304が返せなくなるため）
+ *
+ * レプリカ使用時:
+ * - 変更からReadRouting.REPLICA_LAG_MILLISの間はETagを返さない（null）
+ *   （他の閲覧者は反映遅れのレプリカを読むため、古い内容を新しいETagで保存させない）
+ */
+public class BoardVersionStamp {
+
+    /**
+     * 起動時刻（ETagの接頭辞・変更履歴がない場合のLast-Modified）
+     */
+    private static final long BOOT_TIME = System.currentTimeMillis();
+
+    private static final String BOOT_TAG = Long.toString(BOOT_TIME, 36);
+
+    /**
+     * バージョン番号の採番（全体・投稿別で共通の連番）
+     */
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private static volatile Stamp global = new Stamp(0, BOOT_TIME);
+
+    /**
+     * 投稿別のバージョンを保持する投稿数の上限
+     */
+    private static final int MAX_TRACKED_POSTS = 10_000;
+
+    /**
+     * 投稿ID → バージョン（起動後に変更のあった投稿のうち、新しいものから最大MAX_TRACKED_POSTS件）
+     */
+    private static final Map<Long, Stamp> posts = new ConcurrentHashMap<>();
+
+    /**
+     * 保持していない投稿に使うバージョン（削除した投稿の最新バージョン）
+     */
+    private static volatile Stamp evictedFloor = new Stamp(0, BOOT_TIME);
+
+    /**
+     * バージョン番号と更新時刻の組
+     */
+    private static class Stamp {
+        final long version;
+        final long modifiedAt;
+
+        Stamp(long version, long modifiedAt) {
+            this.version = version;
+            this.modifiedAt = modifiedAt;
+        }
+    }
+
+    private BoardVersionStamp() {
+    }
+
+    // ========== 更新 ==========
+
+    /**
+     * 投稿の登録・更新・削除、コメントの追加・更新・削除時（全体と投稿別の両方を進める）
+     * 一覧画面にもコメント数を表示するため、コメントの変更でも全体を進める
+     *
+     * @param boardId 投稿ID
+     */
+    public static void touchBoard(long boardId) {
+        Stamp stamp = next();
+        global = stamp;
+        putPost(boardId, stamp);
+    }
+
+    /**
+     * 投票の受付時（投稿別のみ進める）
+     * 一覧は未反映の投票を表示しないため、全体は進めない（一覧の304を維持する）
+     *
+     * @param boardId 投稿ID
+     */
+    public static void touchPost(long boardId) {
+        putPost(boardId, next());
+    }
+
+    /**
+     * 投票のDB反映後（全体のみ進める、VoteBuffer.flushからBoardListCache経由で呼ばれる）
+     */
+    public static void touchList() {
+        global = next();
+    }
+
+    /**
+     * 投稿別のバージョンを登録（書き込み時のみ呼ばれるため同期化、参照はロックなし）
+     */
+    private static synchronized void putPost(long boardId, Stamp stamp) {
+        posts.put(boardId, stamp);
+        if (posts.size() > MAX_TRACKED_POSTS) {
+            evictOlderHalf();
+        }
+    }
+
+    /**
+     * バージョンの古い半分を削除
+     * 下限を先に更新してから削除する（削除後に下限より古いETagが返らないように）
+     */
+    private static void evictOlderHalf() {
+        long[] versions = posts.values().stream().mapToLong(stamp -> stamp.version).toArray();
+        Arrays.sort(versions);
+        long cutoff = versions[versions.length / 2];
+
+        Stamp newest = evictedFloor;
+        for (Stamp stamp : posts.values()) {
+            if (stamp.version <= cutoff && stamp.version > newest.version) {
+                newest = stamp;
+            }
+        }
+        evictedFloor = newest;
+        posts.values().removeIf(stamp -> stamp.version <= cutoff);
+    }
+
+    /**
+     * 投稿別のバージョン（保持していない投稿は下限）
+     */
+    private static Stamp postStamp(long boardId) {
+        Stamp stamp = posts.get(boardId);
+        return stamp != null ? stamp : evictedFloor;
+    }
+
+    private static Stamp next() {
+        return new Stamp(sequence.incrementAndGet(), System.currentTimeMillis());
+    }
+
+    // ========== 参照 ==========
+
+    /**
+     * 一覧画面のETag
+     *
+     * @return ETag（レプリカの反映待ちの間はnull）
+     */
+    public static String getListETag() {
+        Stamp stamp = global;
+        return settled(stamp) ? "\"l" + BOOT_TAG + "-" + stamp.version + "\"" : null;
+    }
+
+    /**
+     * 一覧画面の最終更新時刻
+     */
+    public static long getListLastModified() {
+        return global.modifiedAt;
+    }
+
+    /**
+     * 詳細画面のETag
+     *
+     * @param boardId 投稿ID
+     * @return ETag（レプリカの反映待ちの間はnull）
+     */
+    public static String getDetailETag(long boardId) {
+        Stamp stamp = postStamp(boardId);
+        if (!settled(stamp)) {
+            return null;
+        }
+        return "\"d" + BOOT_TAG + "-" + boardId + "-" + stamp.version + "\"";
+    }
+
+    /**
+     * 詳細画面の最終更新時刻
+     *
+     * @param boardId 投稿ID
+     */
+    public static long getDetailLastModified(long boardId) {
+        return postStamp(boardId).modifiedAt;
+    }
+
+    /**
+     * レプリカへの反映が済んでいるとみなせるか
+     * （レプリカ未設定、または変更からREPLICA_LAG_MILLIS以上経過）
+     */
+    private static boolean settled(Stamp stamp) {
+        return stamp.version == 0 || !MyBatisUtil.hasReplica()
+                || System.currentTimeMillis() - stamp.modifiedAt >= ReadRouting.REPLICA_LAG_MILLIS;
+    }
+}
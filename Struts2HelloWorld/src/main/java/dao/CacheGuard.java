@@ -0,0 +1,168 @@
+package dao;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import util.ReadRouting;
+
+/**
+ * 【CacheGuardクラス】
+ * 投稿別キャッシュ（BoardEntityCache・CommentCache）の共通部分
+ *
+ * 役割:
+ * - DB読み込みの結果を登録してよいかの判定（古い内容をキャッシュに残さない）
+ * - ヒット・ミス・期限切れ・追い出し・無効化・登録見送りの件数（統計）
+ *
+ * 読み込み中の変更（世代番号）:
+ * - 変更のたびに通し番号を進め、投稿IDごとの最終変更番号に記録する
+ *   （投稿IDのハッシュでGENERATION_STRIPES個に振り分け。衝突しても登録を見送るだけで安全側）
+ * - 読み込み開始時の通し番号より後にその投稿が変更されていたら登録しない
+ *   → 1件の変更で、他の投稿の読み込み結果まで捨てない
+ *
+ * レプリカの反映遅れ:
+ * - レプリカから読んだ結果は、その投稿の変更からReadRouting.REPLICA_LAG_MILLISの間は登録しない
+ *   （反映遅れの古い内容をTTLの間保持しないため）
+ *
+ * スレッドセーフではない（各キャッシュのロック内で呼ぶこと）
+ */
+class CacheGuard {
+
+    // ========== 定数定義 ==========
+
+    /**
+     * 投稿ごとの最終変更番号の記録数（2のべき乗）
+     */
+    private static final int GENERATION_STRIPES = 1024;
+
+    // ========== 状態 ==========
+
+    /**
+     * 統計の名前の接頭辞（"entityCache" など）
+     */
+    private final String name;
+
+    /**
+     * 変更の通し番号
+     */
+    private long generation = 0;
+
+    /**
+     * 投稿IDのハッシュ → その投稿IDの最終変更番号
+     */
+    private final long[] changedAt = new long[GENERATION_STRIPES];
+
+    /**
+     * 直近に変更した投稿ID → 変更時刻（古い順、REPLICA_LAG_MILLISを過ぎたら削除）
+     */
+    private final LinkedHashMap<Long, Long> recentChanges = new LinkedHashMap<>();
+
+    // ========== 統計 ==========
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long expirations = 0;
+    private long invalidations = 0;
+    private long replicaSkips = 0;
+
+    /**
+     * @param name 統計の名前の接頭辞
+     */
+    CacheGuard(String name) {
+        this.name = name;
+    }
+
+    // ========== 登録の判定 ==========
+
+    /**
+     * 現在の通し番号（DB読み込み前に取得する）
+     */
+    long currentGeneration() {
+        return generation;
+    }
+
+    /**
+     * 投稿の変更を記録（無効化・件数の加算のたびに呼ぶ）
+     *
+     * @param boardId 投稿ID
+     */
+    void markChanged(long boardId) {
+        changedAt[stripe(boardId)] = ++generation;
+        recentChanges.remove(boardId);
+        recentChanges.put(boardId, System.currentTimeMillis());
+        pruneRecentChanges();
+    }
+
+    /**
+     * 読み込んだ結果を登録してよいか
+     *
+     * @param boardId 投稿ID
+     * @param loadedGeneration 読み込み開始時の通し番号
+     * @param fromReplica レプリカから読み込んだ可能性がある場合true
+     * @return 登録してよい場合true（読み込み中に変更された・レプリカの反映待ちの場合false）
+     */
+    boolean admits(long boardId, long loadedGeneration, boolean fromReplica) {
+        if (changedAt[stripe(boardId)] > loadedGeneration) {
+            return false;
+        }
+        if (fromReplica) {
+            pruneRecentChanges();
+            if (recentChanges.containsKey(boardId)) {
+                replicaSkips++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void pruneRecentChanges() {
+        long threshold = System.currentTimeMillis() - ReadRouting.REPLICA_LAG_MILLIS;
+        Iterator<Long> it = recentChanges.values().iterator();
+        while (it.hasNext() && it.next() < threshold) {
+            it.remove();
+        }
+    }
+
+    private static int stripe(long boardId) {
+        long h = boardId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 54) & (GENERATION_STRIPES - 1);
+    }
+
+    // ========== 統計 ==========
+
+    void hit() {
+        hits++;
+    }
+
+    void miss() {
+        misses++;
+    }
+
+    void expired() {
+        expirations++;
+        misses++;
+    }
+
+    void evicted() {
+        evictions++;
+    }
+
+    void invalidated() {
+        invalidations++;
+    }
+
+    /**
+     * 共通の統計をstatsに追加
+     */
+    void putStats(Map<String, Long> stats) {
+        long lookups = hits + misses;
+        stats.put(name + ".hits", hits);
+        stats.put(name + ".misses", misses);
+        stats.put(name + ".hitRatePercent", lookups == 0 ? 0 : hits * 100 / lookups);
+        stats.put(name + ".evictions", evictions);
+        stats.put(name + ".expirations", expirations);
+        stats.put(name + ".invalidations", invalidations);
+        stats.put(name + ".replicaSkips", replicaSkips);
+    }
+}
@@ -0,0 +1,232 @@
+package dao;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.CommentData;
+
+/**
+ * 【CommentCacheクラス】
+ * 詳細画面のコメント（最初の1ページ分の親コメントと各返信数）の投稿別キャッシュ
+ *
+ * 役割:
+ * - コメントは読まれる回数に比べて変更が少ないため、投稿ごとに取得済みの
+ *   コメント一覧（Snapshot）を保持し、詳細画面の表示でコメントを照会しない
+ * - CommentDaoのコメント追加・更新・削除で該当の投稿を破棄（書き込み時に無効化）
+ * - ヒット率・追い出し件数などの統計を提供
+ *
+ * 容量と追い出し:
+ * - 件数ではなく、コメント本文・投稿者名から見積もったバイト数の合計で制限（MAX_BYTES）
+ *   コメントの多い投稿1件と、コメントの少ない投稿多数を同じ基準で扱うため
+ * - 超えた場合は最も長く使われていない投稿から追い出す（LRU）
+ * - MAX_SNAPSHOT_BYTESを超える1件は登録しない（1件で他をすべて追い出さないため）
+ *
+ * 有効期限: TTL_MILLIS経過したエントリは使わずDBから読み直す
+ *
+ * 読み込み中に変更された投稿・レプリカの反映待ちの投稿は登録しない（CacheGuard、BoardEntityCacheと共通）
+ *
+ * Snapshotとその中のCommentDataは共有されるため、呼び出し側で変更しないこと
+ */
+public class CommentCache {
+
+    // ========== 定数定義 ==========
+
+    /**
+     * キャッシュ全体の上限（見積もりバイト数、8MB）
+     */
+    private static final long MAX_BYTES = 8L * 1024 * 1024;
+
+    /**
+     * 1投稿分の上限（見積もりバイト数）
+     */
+    private static final long MAX_SNAPSHOT_BYTES = MAX_BYTES / 8;
+
+    private static final long TTL_MILLIS = 5 * 60_000;
+
+    /**
+     * コメント1件あたりの固定分（オブジェクト・日時・リスト要素など）の見積もり
+     */
+    private static final int COMMENT_OVERHEAD_BYTES = 160;
+
+    // ========== キャッシュ本体 ==========
+
+    private static final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static long totalBytes = 0;
+
+    /**
+     * 読み込み結果を登録してよいかの判定と、ヒット率などの共通の統計
+     */
+    private static final CacheGuard guard = new CacheGuard("commentCache");
+
+    // ========== 統計 ==========
+
+    /**
+     * MAX_SNAPSHOT_BYTESを超えて登録しなかった件数
+     */
+    private static long oversized = 0;
+
+    /**
+     * 1投稿分のコメント（登録後は変更しない）
+     */
+    public static class Snapshot {
+        private final List<CommentData> comments;
+        private final Long nextCursor;
+        private final long bytes;
+
+        private Snapshot(List<CommentData> comments, Long nextCursor, long bytes) {
+            this.comments = comments;
+            this.nextCursor = nextCursor;
+            this.bytes = bytes;
+        }
+
+        /**
+         * 親コメントのリスト（返信は件数のみ、変更不可）
+         */
+        public List<CommentData> getComments() {
+            return comments;
+        }
+
+        /**
+         * 次ページ用カーソル（次ページなしの場合null）
+         */
+        public Long getNextCursor() {
+            return nextCursor;
+        }
+    }
+
+    private static class Entry {
+        final Snapshot snapshot;
+        final long expiresAt;
+
+        Entry(Snapshot snapshot, long expiresAt) {
+            this.snapshot = snapshot;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private CommentCache() {
+    }
+
+    // ========== 参照・登録 ==========
+
+    /**
+     * キャッシュ参照
+     *
+     * @param boardId 投稿ID
+     * @return キャッシュ済みのコメント（なし・期限切れの場合null）
+     */
+    public static synchronized Snapshot get(long boardId) {
+        Entry entry = entries.get(boardId);
+        if (entry == null) {
+            guard.miss();
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            remove(boardId);
+            guard.expired();
+            return null;
+        }
+        guard.hit();
+        return entry.snapshot;
+    }
+
+    /**
+     * 現在の通し番号（DB読み込み前に取得する）
+     */
+    public static synchronized long currentGeneration() {
+        return guard.currentGeneration();
+    }
+
+    /**
+     * キャッシュ登録
+     *
+     * @param boardId 投稿ID
+     * @param comments 親コメントのリスト（登録後は変更しないこと）
+     * @param nextCursor 次ページ用カーソル（次ページなしの場合null）
+     * @param loadedGeneration 読み込み開始時の通し番号
+     * @param fromReplica レプリカから読み込んだ可能性がある場合true
+     */
+    public static synchronized void put(long boardId, List<CommentData> comments, Long nextCursor,
+            long loadedGeneration, boolean fromReplica) {
+        if (!guard.admits(boardId, loadedGeneration, fromReplica)) {
+            return;
+        }
+        long bytes = estimateBytes(comments);
+        if (bytes > MAX_SNAPSHOT_BYTES) {
+            oversized++;
+            return;
+        }
+
+        Snapshot snapshot = new Snapshot(Collections.unmodifiableList(comments), nextCursor, bytes);
+        remove(boardId);
+        entries.put(boardId, new Entry(snapshot, System.currentTimeMillis() + TTL_MILLIS));
+        totalBytes += bytes;
+
+        // 上限を超えた分を、最も長く使われていない投稿から追い出す
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > MAX_BYTES && eldest.hasNext()) {
+            Map.Entry<Long, Entry> victim = eldest.next();
+            totalBytes -= victim.getValue().snapshot.bytes;
+            eldest.remove();
+            guard.evicted();
+        }
+    }
+
+    /**
+     * コメント一覧の見積もりバイト数（文字列はUTF-16で1文字2バイト）
+     */
+    private static long estimateBytes(List<CommentData> comments) {
+        long bytes = 0;
+        for (CommentData comment : comments) {
+            bytes += estimateBytes(comment);
+        }
+        return bytes;
+    }
+
+    private static long estimateBytes(CommentData comment) {
+        long chars = (comment.getWriter() != null ? comment.getWriter().length() : 0)
+                + (comment.getContent() != null ? comment.getContent().length() : 0);
+        return COMMENT_OVERHEAD_BYTES + chars * 2;
+    }
+
+    private static void remove(long boardId) {
+        Entry removed = entries.remove(boardId);
+        if (removed != null) {
+            totalBytes -= removed.snapshot.bytes;
+        }
+    }
+
+    // ========== 無効化 ==========
+
+    /**
+     * コメントの追加・更新・削除時
+     *
+     * @param boardId 投稿ID
+     */
+    public static synchronized void invalidate(long boardId) {
+        guard.markChanged(boardId);
+        if (entries.containsKey(boardId)) {
+            remove(boardId);
+            guard.invalidated();
+        }
+    }
+
+    // ========== 統計 ==========
+
+    /**
+     * 統計情報を名前→値の形式で取得
+     */
+    public static synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("commentCache.size", (long) entries.size());
+        stats.put("commentCache.bytes", totalBytes);
+        stats.put("commentCache.maxBytes", MAX_BYTES);
+        guard.putStats(stats);
+        stats.put("commentCache.oversized", oversized);
+        return stats;
+    }
+}
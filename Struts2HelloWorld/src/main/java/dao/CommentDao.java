@@ -10,6 +10,7 @@ import org.apache.logging.log4j.Logger;
 import mapper.CommentMapper;
 import model.CommentData;
 import util.MyBatisUtil;
+import util.ReadRouting;
 
 /**
  * 【Commentクラス】
@@ -32,9 +33,9 @@ public class CommentDao {
      * コメント追加
      * 
      * @param comment コメントデータ
-     * @return 成功した場合true、失敗した場合false
+     * @return 登録したコメント（ID・登録日時を含む）、失敗した場合null
      */
-    public static boolean addComment(CommentData comment) {
+    public static CommentData addComment(CommentData comment) {
     	
     	logger.info("【コメント追加】addComment開始");
         logger.debug("【コメント追加】board_id: " + comment.getBoardId() + 
@@ -68,39 +69,13 @@ public class CommentDao {
      * @param writer 作成者
      * @param content 内容
      * @param ipAddress IPアドレス
-     * @return 成功した場合true
+     * @return 登録したコメント、失敗した場合null
      */
-    public static boolean addComment(long boardId, String writer, String content, String ipAddress) {
+    public static CommentData addComment(long boardId, String writer, String content, String ipAddress) {
     	
     	logger.info("【コメント追加】addComment開始 - board_id: " + boardId);
         
-        SqlSession sqlSession = null;
-        
-        try {
-        	
-            sqlSession = MyBatisUtil.getSqlSession();
-            
-            CommentMapper mapper = sqlSession.getMapper(CommentMapper.class);
-            
-            int result = mapper.addComment(boardId, writer, content, ipAddress);
-            
-            sqlSession.commit();
-            
-            logger.debug("【コメント追加】追加成功 - board_id: " + boardId);
-            
-            return result > 0;
-            
-        } catch (Exception e) {
-
-            if (sqlSession != null) {
-                sqlSession.rollback();
-            }
-            logger.error("【コメント追加】SQLException エラー", e);
-            return false;
-            
-        } finally {
-            MyBatisUtil.closeSqlSession(sqlSession);
-        }
+        return insertComment(boardId, writer, content, null, ipAddress);
 
     }
     
@@ -112,37 +87,63 @@ public class CommentDao {
      * @param content 内容
      * @param parentCommentId 親コメントID
      * @param ipAddress IPアドレス
-     * @return 成功した場合true
+     * @return 登録したコメント、失敗した場合null
      */
-    public static boolean addReply(long boardId, String writer, String content, 
-                                   long parentCommentId, String ipAddress) {
+    public static CommentData addReply(long boardId, String writer, String content, 
+                                       long parentCommentId, String ipAddress) {
     	
     	logger.info("【返信追加】addReply開始 - parent_comment_id: " + parentCommentId);
         
+        return insertComment(boardId, writer, content, parentCommentId, ipAddress);
+
+    }
+    
+    /**
+     * コメント登録（通常コメント・返信共通）
+     * 
+     * - 登録とコメント数の加算を1回のSQLで実行
+     * - 登録した行（ID・登録日時）はRETURNINGで受け取る（コメント配信はCommentServiceが行う）
+     * 
+     * @return 登録したコメント（失敗時null）
+     */
+    private static CommentData insertComment(long boardId, String writer, String content,
+                                             Long parentCommentId, String ipAddress) {
+        
         SqlSession sqlSession = null;
         
         try {
             sqlSession = MyBatisUtil.getSqlSession();
             CommentMapper mapper = sqlSession.getMapper(CommentMapper.class);
             
-            int result = mapper.addReply(boardId, writer, content, parentCommentId, ipAddress);
+            // 登録・一覧表示用のコメント数の加算（1回のSQL）
+            CommentData inserted = mapper.insertComment(boardId, writer, content, parentCommentId, ipAddress);
+            if (inserted == null) {
+                sqlSession.rollback(true);
+                logger.warn("【コメント追加】登録結果なし - board_id: " + boardId);
+                return null;
+            }
             
-            sqlSession.commit();
+            // INSERTを@Selectで実行しているため強制コミット
+            sqlSession.commit(true);
             
-            logger.debug("【返信追加】追加成功 - parent_comment_id: " + parentCommentId);
+            // 投稿者の以降の読み取りを一定時間プライマリへ（read-your-writes）
+            ReadRouting.markWrite();
+            BoardEntityCache.invalidate(boardId);
+            CommentCache.invalidate(boardId);
             
-            return result > 0;
+            logger.debug("【コメント追加】追加成功 - board_id: " + boardId
+                    + ", comment_id: " + inserted.getCommentId());
+            return inserted;
             
         } catch (Exception e) {
             if (sqlSession != null) {
-                sqlSession.rollback();
+                sqlSession.rollback(true);
             }
-            logger.error("【返信追加】SQLException エラー", e);
-            return false;
+            logger.error("【コメント追加】SQLException エラー - board_id: " + boardId, e);
+            return null;
         } finally {
             MyBatisUtil.closeSqlSession(sqlSession);
         }
-
     }
     
     /**
@@ -158,7 +159,7 @@ public class CommentDao {
         SqlSession sqlSession = null;
         
         try {
-            sqlSession = MyBatisUtil.getSqlSession();
+            sqlSession = MyBatisUtil.getReadSqlSession();
             CommentMapper mapper = sqlSession.getMapper(CommentMapper.class);
             
             List<CommentData> comments = mapper.getCommentsByBoardId(boardId);
@@ -181,6 +182,94 @@ public class CommentDao {
 
     }
     
+    /**
+     * コメント1ページ分を取得（親コメント単位のキーセットページング）
+     * 
+     * @param boardId 投稿ID
+     * @param afterId この comment_id より後の親コメントから取得（null: 先頭ページ）
+     * @param limit 1ページの親コメント数
+     * @return 親コメントのリスト（ID順、返信数付き、limit + 1件まで）、エラー時は空のリスト
+     */
+    public static List<CommentData> getCommentPage(long boardId, Long afterId, int limit) {
+    	
+    	logger.info("【コメント取得】getCommentPage開始 - board_id: " + boardId + ", afterId: " + afterId);
+        
+        SqlSession sqlSession = null;
+        
+        try {
+            sqlSession = MyBatisUtil.getReadSqlSession();
+            CommentMapper mapper = sqlSession.getMapper(CommentMapper.class);
+            
+            List<CommentData> comments = mapper.findThreadPage(boardId, afterId, limit);
+            logger.debug("【コメント取得】取得成功 - 件数: " + comments.size());
+            return comments;
+            
+        } catch (Exception e) {
+            logger.error("【コメント取得】getCommentPage エラー - board_id: " + boardId, e);
+            return new ArrayList<>();
+            
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+    
+    /**
+     * 親コメントへの返信を取得（返信への返信を含む）
+     * 
+     * @param parentCommentId 親コメントID
+     * @param afterId この comment_id より後の返信から取得（null: 先頭から）
+     * @param limit 1回の取得件数
+     * @return 返信リスト（ID順、limit + 1件まで）、エラー時は空のリスト
+     */
+    public static List<CommentData> getReplies(long parentCommentId, Long afterId, int limit) {
+    	
+    	logger.info("【返信取得】getReplies開始 - parent_comment_id: " + parentCommentId + ", afterId: " + afterId);
+        
+        SqlSession sqlSession = null;
+        
+        try {
+            sqlSession = MyBatisUtil.getReadSqlSession();
+            CommentMapper mapper = sqlSession.getMapper(CommentMapper.class);
+            
+            List<CommentData> replies = mapper.findReplies(parentCommentId, afterId, limit);
+            logger.debug("【返信取得】取得成功 - 件数: " + replies.size());
+            return replies;
+            
+        } catch (Exception e) {
+            logger.error("【返信取得】getReplies エラー - parent_comment_id: " + parentCommentId, e);
+            return new ArrayList<>();
+            
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+    
+    /**
+     * 指定IDより後に登録されたコメントを取得（コメント配信の再接続時）
+     * 
+     * @param boardId 投稿ID
+     * @param afterId この comment_id より後のコメント
+     * @param limit 最大件数
+     * @return コメントリスト（ID順）、エラー時は空のリスト
+     */
+    public static List<CommentData> getCommentsAfter(long boardId, long afterId, int limit) {
+        
+        SqlSession sqlSession = null;
+        
+        try {
+            sqlSession = MyBatisUtil.getReadSqlSession();
+            CommentMapper mapper = sqlSession.getMapper(CommentMapper.class);
+            return mapper.findCommentsAfter(boardId, afterId, limit);
+            
+        } catch (Exception e) {
+            logger.error("【コメント取得】getCommentsAfter エラー - board_id: " + boardId, e);
+            return new ArrayList<>();
+            
+        } finally {
+            MyBatisUtil.closeSqlSession(sqlSession);
+        }
+    }
+    
     /**
      * 特定のコメント取得
      * 
@@ -194,7 +283,7 @@ public class CommentDao {
         SqlSession sqlSession = null;
         
         try {
-            sqlSession = MyBatisUtil.getSqlSession();
+            sqlSession = MyBatisUtil.getReadSqlSession();
             CommentMapper mapper = sqlSession.getMapper(CommentMapper.class);
             
             CommentData comment = mapper.getCommentById(commentId);
@@ -219,11 +308,13 @@ public class CommentDao {
     /**
      * コメント更新
      * 
+     * 更新した行（投稿IDを含む）はRETURNINGで受け取る（更新前後の照会なし）
+     * 
      * @param commentId コメントID
      * @param content 新しい内容
-     * @return 成功した場合true
+     * @return 更新したコメント、対象なし・失敗した場合null
      */
-    public static boolean updateComment(long commentId, String content) {
+    public static CommentData updateComment(long commentId, String content) {
         
     	logger.info("【コメント更新】updateComment開始 - comment_id: " + commentId);
         
@@ -233,24 +324,26 @@ public class CommentDao {
             sqlSession = MyBatisUtil.getSqlSession();
             CommentMapper mapper = sqlSession.getMapper(CommentMapper.class);
             
-            int result = mapper.updateComment(commentId, content);
+            CommentData updated = mapper.updateCommentReturning(commentId, content);
             
-            sqlSession.commit();
+            // UPDATEを@Selectで実行しているため強制コミット
+            sqlSession.commit(true);
             
-            if (result > 0) {
+            if (updated != null) {
+                ReadRouting.markWrite();
+                CommentCache.invalidate(updated.getBoardId());
                 logger.debug("【コメント更新】更新成功 - comment_id: " + commentId);
-                return true;
             } else {
                 logger.warn("【コメント更新】対象データなし - comment_id: " + commentId);
-                return false;
             }
+            return updated;
             
         } catch (Exception e) {
             if (sqlSession != null) {
-                sqlSession.rollback();
+                sqlSession.rollback(true);
             }
             logger.error("【コメント更新】SQLException エラー - comment_id: " + commentId, e);
-            return false;
+            return null;
         } finally {
             MyBatisUtil.closeSqlSession(sqlSession);
         }
@@ -260,10 +353,13 @@ public class CommentDao {
     /**
      * コメント削除（論理削除）
      * 
+     * - 論理削除とコメント数の減算を1回のSQLで実行
+     * - 削除した行（投稿IDを含む）はRETURNINGで受け取る（削除前の照会・ロックなし）
+     * 
      * @param commentId コメントID
-     * @return 成功した場合true
+     * @return 削除したコメント、対象なし（削除済みを含む）・失敗した場合null
      */
-    public static boolean deleteComment(long commentId) {
+    public static CommentData deleteComment(long commentId) {
     	
     	logger.info("【コメント削除】deleteComment開始 - comment_id: " + commentId);
         
@@ -273,24 +369,27 @@ public class CommentDao {
             sqlSession = MyBatisUtil.getSqlSession();
             CommentMapper mapper = sqlSession.getMapper(CommentMapper.class);
             
-            int result = mapper.deleteComment(commentId);
-
-            sqlSession.commit();
+            CommentData deleted = mapper.deleteCommentReturning(commentId);
             
-            if (result > 0) {
+            // UPDATEを@Selectで実行しているため強制コミット
+            sqlSession.commit(true);
+            
+            if (deleted != null) {
+                ReadRouting.markWrite();
+                BoardEntityCache.invalidate(deleted.getBoardId());
+                CommentCache.invalidate(deleted.getBoardId());
                 logger.debug("【コメント削除】削除成功 - comment_id: " + commentId);
-                return true;
             } else {
                 logger.warn("【コメント削除】対象データなし - comment_id: " + commentId);
-                return false;
             }
+            return deleted;
             
         } catch (Exception e) {
             if (sqlSession != null) {
-                sqlSession.rollback();
+                sqlSession.rollback(true);
             }
             logger.error("【コメント削除】SQLException エラー - comment_id: " + commentId, e);
-            return false;
+            return null;
         } finally {
             MyBatisUtil.closeSqlSession(sqlSession);
         }
@@ -310,7 +409,7 @@ public class CommentDao {
         SqlSession sqlSession = null;
         
         try {
-            sqlSession = MyBatisUtil.getSqlSession();
+            sqlSession = MyBatisUtil.getReadSqlSession();
             CommentMapper mapper = sqlSession.getMapper(CommentMapper.class);
             
             int count = mapper.getCommentCount(boardId);
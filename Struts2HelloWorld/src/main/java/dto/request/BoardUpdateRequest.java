@@ -30,6 +30,9 @@ public class BoardUpdateRequest {
     private String filePath;     // 新規ファイル保存パス
     private Long fileSize;       // 新規ファイルサイズ
     
+    // ========== 楽観的ロック ==========
+    private Integer version;     // 編集フォームで読み込んだバージョン（nullの場合は確認しない）
+    
     // ========== デフォルトコンストラクタ ==========
     public BoardUpdateRequest() {
     }
@@ -124,6 +127,14 @@ public class BoardUpdateRequest {
         this.fileSize = fileSize;
     }
     
+    public Integer getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+    
     // ========== 検証メソッド ==========
     
     /**
@@ -152,6 +163,7 @@ public class BoardUpdateRequest {
                 ", category='" + category + '\'' +
                 ", title='" + title + '\'' +
                 ", writer='" + writer + '\'' +
+                ", version=" + version +
                 ", hasFile=" + hasFile() +
                 '}';
     }
@@ -1,8 +1,11 @@
 package dto.response;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 
 import entity.BoardEntity;
+import model.CommentData;
 
 /**
  * 【BoardDetailResponseクラス】
@@ -17,6 +20,7 @@ import entity.BoardEntity;
  * - 全掲示板情報（本文含む）
  * - ファイル詳細情報（ダウンロード用）
  * - 統計情報（閲覧数、いいねなど）
+ * - コメント一覧（getBoardDetailで投稿と同じクエリから取得）
  * 
  * 除外されるフィールド:
  * - ipAddress: セキュリティ上一般ユーザーに公開不可
@@ -46,6 +50,14 @@ public class BoardDetailResponse {
     private Timestamp createdAt;   // 作成日
     private Timestamp updatedAt;   // 修正日
     
+    // ========== 楽観的ロック ==========
+    private Integer version;       // 編集フォームのhiddenで受け渡すバージョン
+    
+    // ========== コメント ==========
+    private List<CommentData> comments = new ArrayList<>(); // 親コメント（返信は件数のみ）
+    private int commentCount;      // 返信を含むコメント総数
+    private Long commentNextCursor; // コメントの次ページ用 afterId（次ページなしの場合null）
+    
     // ========== デフォルトコンストラクタ ==========
     public BoardDetailResponse() {
     }
@@ -83,7 +95,7 @@ public class BoardDetailResponse {
             return null;
         }
         
-        return new BoardDetailResponse(
+        BoardDetailResponse response = new BoardDetailResponse(
             entity.getBoardId(),
             entity.getCategory(),
             entity.getTitle(),
@@ -98,10 +110,44 @@ public class BoardDetailResponse {
             entity.getCreatedAt(),
             entity.getUpdatedAt()
         );
+        response.setVersion(entity.getVersion());
+        return response;
     }
     
     // ========== Getter/Setter ==========
     
+    public List<CommentData> getComments() {
+        return comments;
+    }
+    
+    public void setComments(List<CommentData> comments) {
+        this.comments = comments;
+    }
+    
+    public int getCommentCount() {
+        return commentCount;
+    }
+    
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
+    
+    public Long getCommentNextCursor() {
+        return commentNextCursor;
+    }
+    
+    public void setCommentNextCursor(Long commentNextCursor) {
+        this.commentNextCursor = commentNextCursor;
+    }
+    
+    public Integer getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+    
     public Long getBoardId() {
         return boardId;
     }
@@ -11,19 +11,19 @@ import entity.BoardEntity;
  * 役割:
  * - Service → Action → JSP一覧画面へ渡される
  * - 一覧に不要なデータ除外（パフォーマンス最適化）
+ * - BoardMapper.findPage()の結果を直接受け取る（Entityを経由しない）
  * - 画面表示用フォーマットメソッド含む
  * 
  * 含まれるフィールド:
  * - 掲示板識別: boardId
  * - 基本情報: category, title, writer
- * - 統計: viewCount
+ * - 統計: viewCount, likeCount, dislikeCount, commentCount
  * - 日付: createdAt
  * - ファイル: fileName（添付有無表示用）
  * 
  * 除外されるフィールド（一覧に不要）:
  * - content: 本文全体（一覧ではプレビューもなし）
  * - ipAddress: セキュリティ上公開不要
- * - likeCount, dislikeCount: 一覧で未使用
  * - filePath, fileSize: 詳細情報
  * - isSecret, isDeleted: システム内部情報
  */
@@ -35,6 +35,9 @@ public class BoardListResponse {
     private String title;           // タイトル
     private String writer;          // 作成者
     private Integer viewCount;      // 閲覧数
+    private Integer likeCount;      // いいね数
+    private Integer dislikeCount;   // よくないね数
+    private Integer commentCount;   // コメント数（board_data.comment_count）
     private Timestamp createdAt;    // 作成日
     
     // ========== ファイル添付表示用 ==========
@@ -46,13 +49,17 @@ public class BoardListResponse {
     
     // ========== 全フィールドコンストラクタ ==========
     public BoardListResponse(Long boardId, String category, String title,
-                            String writer, Integer viewCount, Timestamp createdAt,
-                            String fileName) {
+                            String writer, Integer viewCount, Integer likeCount,
+                            Integer dislikeCount, Integer commentCount,
+                            Timestamp createdAt, String fileName) {
         this.boardId = boardId;
         this.category = category;
         this.title = title;
         this.writer = writer;
         this.viewCount = viewCount;
+        this.likeCount = likeCount;
+        this.dislikeCount = dislikeCount;
+        this.commentCount = commentCount;
         this.createdAt = createdAt;
         this.fileName = fileName;
     }
@@ -75,6 +82,9 @@ public class BoardListResponse {
             entity.getTitle(),
             entity.getWriter(),
             entity.getViewCount(),
+            entity.getLikeCount(),
+            entity.getDislikeCount(),
+            entity.getCommentCount(),
             entity.getCreatedAt(),
             entity.getFileName()
         );
@@ -122,6 +132,30 @@ public class BoardListResponse {
         this.viewCount = viewCount;
     }
     
+    public Integer getLikeCount() {
+        return likeCount;
+    }
+    
+    public void setLikeCount(Integer likeCount) {
+        this.likeCount = likeCount;
+    }
+    
+    public Integer getDislikeCount() {
+        return dislikeCount;
+    }
+    
+    public void setDislikeCount(Integer dislikeCount) {
+        this.dislikeCount = dislikeCount;
+    }
+    
+    public Integer getCommentCount() {
+        return commentCount;
+    }
+    
+    public void setCommentCount(Integer commentCount) {
+        this.commentCount = commentCount;
+    }
+    
     public Timestamp getCreatedAt() {
         return createdAt;
     }
@@ -171,6 +205,9 @@ public class BoardListResponse {
                 ", title='" + title + '\'' +
                 ", writer='" + writer + '\'' +
                 ", viewCount=" + viewCount +
+                ", likeCount=" + likeCount +
+                ", dislikeCount=" + dislikeCount +
+                ", commentCount=" + commentCount +
                 ", createdAt=" + createdAt +
                 ", hasFile=" + hasFile() +
                 '}';
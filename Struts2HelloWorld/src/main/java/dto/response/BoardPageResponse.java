@@ -0,0 +1,85 @@
+package dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 【BoardPageResponseクラス】
+ * 掲示板一覧の1ページ分のデータとページング情報
+ *
+ * 役割:
+ * - Service → Action → JSP一覧画面へ渡される
+ * - 次ページ/前ページリンク用のカーソル（board_id）を保持
+ *
+ * キーセットページング:
+ * - ページ番号ではなく「どの投稿IDの続きか」でページを表す
+ * - nextCursor: 次ページ（古い投稿）は board_id < nextCursor
+ * - prevCursor: 前ページ（新しい投稿）は board_id > prevCursor
+ */
+public class BoardPageResponse {
+
+    private List<BoardListResponse> items = new ArrayList<>();
+    private boolean hasNext;        // 次ページ（より古い投稿）あり
+    private boolean hasPrev;        // 前ページ（より新しい投稿）あり
+    private Long nextCursor;        // 次ページ用 afterId
+    private Long prevCursor;        // 前ページ用 beforeId
+
+    // ========== デフォルトコンストラクタ ==========
+    public BoardPageResponse() {
+    }
+
+    // ========== 全フィールドコンストラクタ ==========
+    public BoardPageResponse(List<BoardListResponse> items, boolean hasNext, boolean hasPrev,
+                             Long prevCursor, Long nextCursor) {
+        this.items = items;
+        this.hasNext = hasNext;
+        this.hasPrev = hasPrev;
+        this.prevCursor = prevCursor;
+        this.nextCursor = nextCursor;
+    }
+    
+    /**
+     * カーソルを表示データの先頭・末尾の投稿IDから決定する
+     * @param items 1ページ分のデータ（新しい順）
+     * @param hasNext 次ページ有無
+     * @param hasPrev 前ページ有無
+     */
+    public BoardPageResponse(List<BoardListResponse> items, boolean hasNext, boolean hasPrev) {
+        this(items, hasNext, hasPrev,
+             items.isEmpty() ? null : items.get(0).getBoardId(),
+             items.isEmpty() ? null : items.get(items.size() - 1).getBoardId());
+    }
+
+    // ========== Getter ==========
+
+    public List<BoardListResponse> getItems() {
+        return items;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public boolean isHasPrev() {
+        return hasPrev;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public Long getPrevCursor() {
+        return prevCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "BoardPageResponse{" +
+                "size=" + items.size() +
+                ", hasNext=" + hasNext +
+                ", hasPrev=" + hasPrev +
+                ", nextCursor=" + nextCursor +
+                ", prevCursor=" + prevCursor +
+                '}';
+    }
+}
@@ -0,0 +1,90 @@
+package dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.CommentData;
+
+/**
+ * 【CommentPageResponseクラス】
+ * コメント一覧の1ページ分（親コメントと各返信数）とページング情報
+ *
+ * 役割:
+ * - 詳細画面の最初のページ、「もっと見る」で読み込む続きのページの両方で使用
+ * - 次ページ読み込み用のカーソル（親コメントのcomment_id）を保持
+ *
+ * キーセットページング:
+ * - 親コメントをID順にPAGE_SIZE件ずつ区切る（返信は件数のみ、本体は表示時に取得）
+ * - nextCursor: 次ページは comment_id > nextCursor の親コメントから
+ * - 取得時に1件多く親コメントを読み、次ページの有無を判定する
+ */
+public class CommentPageResponse {
+
+    /**
+     * 1ページの親コメント数
+     */
+    public static final int PAGE_SIZE = 50;
+
+    /**
+     * 返信の1回の取得件数（CommentAction.replies）
+     */
+    public static final int REPLY_PAGE_SIZE = 100;
+
+    private List<CommentData> items = new ArrayList<>(); // 親コメント（返信数は各コメントのreplyCount）
+    private boolean hasNext;        // 次ページ（より新しい親コメント）あり
+    private Long nextCursor;        // 次ページ用 afterId
+
+    // ========== デフォルトコンストラクタ ==========
+    public CommentPageResponse() {
+    }
+
+    // ========== 全フィールドコンストラクタ ==========
+    public CommentPageResponse(List<CommentData> items, boolean hasNext, Long nextCursor) {
+        this.items = items;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    // ========== 取得結果 → DTO変換（Factory Method） ==========
+
+    /**
+     * 1ページ分のコメント（親コメントをpageSize + 1件まで含むID順の一覧）から作成
+     *
+     * @param comments CommentMapper.findThreadPage等の結果（親コメントのみ、ID順）
+     * @param pageSize 1ページの親コメント数
+     * @return ページ情報（pageSize + 1件目の親コメントは次ページ判定にのみ使用）
+     */
+    public static CommentPageResponse of(List<CommentData> comments, int pageSize) {
+        if (comments.size() <= pageSize) {
+            return new CommentPageResponse(comments, false, null);
+        }
+        List<CommentData> page = new ArrayList<>(comments.subList(0, pageSize));
+        return new CommentPageResponse(page, true, page.get(pageSize - 1).getCommentId());
+    }
+
+    // ========== Getter/Setter ==========
+
+    public List<CommentData> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CommentData> items) {
+        this.items = items;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
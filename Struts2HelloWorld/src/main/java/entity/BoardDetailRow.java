@@ -0,0 +1,277 @@
+package entity;
+
+import java.sql.Timestamp;
+
+import model.CommentData;
+
+/**
+ * 【BoardDetailRowクラス】
+ * 詳細画面用の結合クエリ（投稿 LEFT JOIN コメント）の1行
+ *
+ * 役割:
+ * - BoardMapper.findDetailRows()の結果を受け取る
+ * - 投稿部分をBoardEntityへ、コメント部分をCommentDataへ変換する
+ *
+ * 1行 = 投稿1件 × コメント1件（コメントがない場合はコメント列がすべてNULLの1行）
+ * 本文（content）は先頭行のみに入る（コメント数分の本文を転送しないため）
+ */
+public class BoardDetailRow {
+
+    // ========== 投稿の列 ==========
+    private long boardId;
+    private String category;
+    private String title;
+    private String content;
+    private String writer;
+    private int viewCount;
+    private int likeCount;
+    private int dislikeCount;
+    private String fileName;
+    private String filePath;
+    private Long fileSize;
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+    private int version;
+
+    // ========== コメントの列（LEFT JOINのためNULL可） ==========
+    private Long commentId;
+    private String commentWriter;
+    private String commentContent;
+    private Long parentCommentId;
+    private Timestamp commentCreatedAt;
+    private Timestamp commentUpdatedAt;
+    private Integer replyCount;    // 親コメントの返信数（返信の行は取得しない）
+
+    // ========== 集計 ==========
+    private int commentCount;      // 返信を含む全コメント数（全行同じ値）
+
+    // ========== 変換 ==========
+
+    /**
+     * 投稿部分をEntityに変換（先頭行で呼び出すこと）
+     */
+    public BoardEntity toEntity() {
+        BoardEntity entity = new BoardEntity();
+        entity.setBoardId(boardId);
+        entity.setCategory(category);
+        entity.setTitle(title);
+        entity.setContent(content);
+        entity.setWriter(writer);
+        entity.setViewCount(viewCount);
+        entity.setLikeCount(likeCount);
+        entity.setDislikeCount(dislikeCount);
+        entity.setFileName(fileName);
+        entity.setFilePath(filePath);
+        if (fileSize != null) {
+            entity.setFileSize(fileSize);
+        }
+        entity.setCreatedAt(createdAt);
+        entity.setUpdatedAt(updatedAt);
+        entity.setVersion(version);
+        entity.setCommentCount(commentCount);
+        return entity;
+    }
+
+    /**
+     * コメントがある行か
+     */
+    public boolean hasComment() {
+        return commentId != null;
+    }
+
+    /**
+     * コメント部分をCommentDataに変換
+     */
+    public CommentData toComment() {
+        CommentData comment = new CommentData();
+        comment.setCommentId(commentId);
+        comment.setBoardId(boardId);
+        comment.setWriter(commentWriter);
+        comment.setContent(commentContent);
+        comment.setParentCommentId(parentCommentId);
+        comment.setCreatedAt(commentCreatedAt);
+        comment.setUpdatedAt(commentUpdatedAt);
+        if (replyCount != null) {
+            comment.setReplyCount(replyCount);
+        }
+        return comment;
+    }
+
+    // ========== Getter/Setter（MyBatisのマッピング用） ==========
+
+    public long getBoardId() {
+        return boardId;
+    }
+
+    public void setBoardId(long boardId) {
+        this.boardId = boardId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public String getWriter() {
+        return writer;
+    }
+
+    public void setWriter(String writer) {
+        this.writer = writer;
+    }
+
+    public int getViewCount() {
+        return viewCount;
+    }
+
+    public void setViewCount(int viewCount) {
+        this.viewCount = viewCount;
+    }
+
+    public int getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(int likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public int getDislikeCount() {
+        return dislikeCount;
+    }
+
+    public void setDislikeCount(int dislikeCount) {
+        this.dislikeCount = dislikeCount;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Timestamp getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Timestamp updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public Long getCommentId() {
+        return commentId;
+    }
+
+    public void setCommentId(Long commentId) {
+        this.commentId = commentId;
+    }
+
+    public String getCommentWriter() {
+        return commentWriter;
+    }
+
+    public void setCommentWriter(String commentWriter) {
+        this.commentWriter = commentWriter;
+    }
+
+    public String getCommentContent() {
+        return commentContent;
+    }
+
+    public void setCommentContent(String commentContent) {
+        this.commentContent = commentContent;
+    }
+
+    public Long getParentCommentId() {
+        return parentCommentId;
+    }
+
+    public void setParentCommentId(Long parentCommentId) {
+        this.parentCommentId = parentCommentId;
+    }
+
+    public Timestamp getCommentCreatedAt() {
+        return commentCreatedAt;
+    }
+
+    public void setCommentCreatedAt(Timestamp commentCreatedAt) {
+        this.commentCreatedAt = commentCreatedAt;
+    }
+
+    public Timestamp getCommentUpdatedAt() {
+        return commentUpdatedAt;
+    }
+
+    public void setCommentUpdatedAt(Timestamp commentUpdatedAt) {
+        this.commentUpdatedAt = commentUpdatedAt;
+    }
+
+    public Integer getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(Integer replyCount) {
+        this.replyCount = replyCount;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
+}
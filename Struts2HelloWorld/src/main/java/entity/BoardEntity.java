@@ -53,6 +53,9 @@ public class BoardEntity {
     
     private int dislikeCount;
     // 投稿のよくない数
+    
+    private int commentCount;
+    // 投稿のコメント数（返信を含む、コメントの追加・削除時に増減）
 
     private String ipAddress;
     // 投稿者のIPアドレスを保存するフィールド
@@ -85,6 +88,9 @@ public class BoardEntity {
     private String filePath; // サーバーに保存されたファイルパス
     private long fileSize; // ファイルサイズ(bytes)
     
+    private int version;
+    // 楽観的ロック用のバージョン（更新・削除のたびに+1）
+    
     private Timestamp createdAt;
     // 投稿日時を保存するフィールド
     // 形式: "yyyy/MM/dd HH:mm:ss" （例: "2025/10/09 16:46:48"）
@@ -173,6 +179,14 @@ public class BoardEntity {
         return dislikeCount;
     }
     
+    /**
+     * コメント数を取得
+     * @return コメント数
+     */
+    public int getCommentCount() {
+        return commentCount;
+    }
+    
     /**
      * 投稿者のIPアドレスを取得
      * @return IPアドレス
@@ -238,6 +252,14 @@ public class BoardEntity {
         return updatedAt;
     }
     
+    /**
+     * バージョンを取得
+     * @return 楽観的ロック用のバージョン
+     */
+    public int getVersion() {
+        return version;
+    }
+    
     // ========== Setterメソッド ==========
     // フィールドに値を設定するためのメソッド
     // 命名規則: set + フィールド名（先頭大文字）
@@ -327,6 +349,14 @@ public class BoardEntity {
         this.dislikeCount = dislikeCount;
     }
     
+    /**
+     * コメント数を設定
+     * @param commentCount コメント数
+     */
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
+    
     /**
      * 投稿者のIPアドレスを設定
      * @param ipAddress 設定するIPアドレス
@@ -407,6 +437,14 @@ public class BoardEntity {
         this.updatedAt = updatedAt;
     }
     
+    /**
+     * バージョンを設定
+     * @param version 楽観的ロック用のバージョン
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+    
     // ========== その他の情報 ==========
     
     /*
@@ -0,0 +1,83 @@
+package entity;
+
+/**
+ * 【BoardWriteResultクラス】
+ * バージョン確認付きの更新・削除（BoardMapper.updateIfVersion / deleteIfVersion）の結果
+ *
+ * 役割:
+ * - 1文のSQLで行った「存在確認・競合確認・書き込み」の結果を受け取る
+ * - 結果の種類（成功・投稿なし・競合）をStatusとして返す
+ *
+ * 列:
+ * - currentVersion: 書き込み前のバージョン（投稿がない・削除済みの場合NULL）
+ * - newVersion: 書き込み後のバージョン（書き込まれなかった場合NULL）
+ * - previousCategory: 書き込み前のカテゴリ（件数キャッシュの調整用）
+ */
+public class BoardWriteResult {
+
+    /**
+     * 書き込み結果の種類
+     */
+    public enum Status {
+        /** 書き込み成功 */
+        SUCCESS,
+        /** 投稿がない、または削除済み */
+        NOT_FOUND,
+        /** 他の更新が先に行われた（バージョン不一致） */
+        CONFLICT,
+        /** DBエラー */
+        ERROR
+    }
+
+    private Integer currentVersion;
+    private Integer newVersion;
+    private String previousCategory;
+
+    /**
+     * DBエラー時の結果
+     */
+    public static BoardWriteResult error() {
+        BoardWriteResult result = new BoardWriteResult();
+        result.currentVersion = -1;
+        return result;
+    }
+
+    /**
+     * 結果の種類
+     */
+    public Status getStatus() {
+        if (newVersion != null) {
+            return Status.SUCCESS;
+        }
+        if (currentVersion == null) {
+            return Status.NOT_FOUND;
+        }
+        return currentVersion < 0 ? Status.ERROR : Status.CONFLICT;
+    }
+
+    // ========== Getter/Setter（MyBatisのマッピング用） ==========
+
+    public Integer getCurrentVersion() {
+        return currentVersion;
+    }
+
+    public void setCurrentVersion(Integer currentVersion) {
+        this.currentVersion = currentVersion;
+    }
+
+    public Integer getNewVersion() {
+        return newVersion;
+    }
+
+    public void setNewVersion(Integer newVersion) {
+        this.newVersion = newVersion;
+    }
+
+    public String getPreviousCategory() {
+        return previousCategory;
+    }
+
+    public void setPreviousCategory(String previousCategory) {
+        this.previousCategory = previousCategory;
+    }
+}
@@ -0,0 +1,41 @@
+package filter;
+
+import java.io.IOException;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import util.ReadRouting;
+
+/**
+ * 【ReadRoutingFilterクラス】
+ * リクエストごとに閲覧者（IPアドレス）をReadRoutingへ設定する
+ *
+ * - 書き込み直後の閲覧者の読み取りをプライマリへ送るために使用
+ * - web.xmlでStruts2のフィルタより前に登録する
+ */
+public class ReadRoutingFilter implements Filter {
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        ReadRouting.begin(request.getRemoteAddr());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadRouting.end();
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
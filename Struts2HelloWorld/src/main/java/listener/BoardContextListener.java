@@ -0,0 +1,78 @@
+package listener;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import service.BoardCountCache;
+import service.CommentEventHub;
+import service.BoardSearchIndex;
+import service.TitleTrie;
+import service.ViewCountBuffer;
+import service.VoteBuffer;
+import util.MyBatisUtil;
+
+/**
+ * 【BoardContextListenerクラス】
+ * アプリケーションの起動・終了時の処理
+ *
+ * 役割:
+ * - 起動時: メモリ内の検索インデックスなどを構築
+ * - 終了時: 後処理
+ *
+ * web.xmlの<listener>で登録する
+ */
+public class BoardContextListener implements ServletContextListener {
+
+    private static final Logger logger = LogManager.getLogger(BoardContextListener.class);
+
+    /**
+     * アプリケーション起動時
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        logger.info("【起動】アプリケーション初期化開始");
+
+        // 全文検索インデックス構築（失敗時はSQL検索で動作を継続）
+        BoardSearchIndex.getInstance().rebuild();
+
+        // タイトル補完用トライ木の構築
+        TitleTrie.getInstance().rebuild();
+
+        // 閲覧数の定期反映を開始
+        ViewCountBuffer.getInstance().start();
+
+        // いいね・よくないねの定期反映を開始
+        VoteBuffer.getInstance().start();
+
+        // 新着コメントの配信を開始
+        CommentEventHub.getInstance().start();
+
+        // カテゴリ別件数の読み込み（失敗時は最初の参照時に再読み込み）
+        BoardCountCache.getInstance().reload();
+
+        logger.info("【起動】アプリケーション初期化完了");
+    }
+
+    /**
+     * アプリケーション終了時
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        logger.info("【終了】アプリケーション終了処理");
+
+        // 未反映の閲覧数をDBへ反映
+        ViewCountBuffer.getInstance().shutdown();
+
+        // 未反映の投票をDBへ反映
+        VoteBuffer.getInstance().shutdown();
+
+        // 新着コメントの配信を停止
+        CommentEventHub.getInstance().shutdown();
+
+        // 接続プール（プライマリ・レプリカ）をクローズ（DBへの反映がすべて終わった後）
+        MyBatisUtil.shutdown();
+    }
+}
@@ -1,10 +1,19 @@
 package mapper;
 
 import java.util.List;
+import java.util.Map;
 
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.session.ResultHandler;
 
+import dto.response.BoardListResponse;
+import entity.BoardDetailRow;
 import entity.BoardEntity;
+import entity.BoardWriteResult;
 
 /*
  * 【BoardMapper インターフェース】
@@ -12,6 +21,25 @@ import entity.BoardEntity;
  */
 public interface BoardMapper {
     
+    /**
+     * BoardListResponseへマッピングするSELECT列（一覧用）
+     * - 本文（content TEXT）など一覧で使わない列は読み込まない
+     */
+    String LIST_COLUMNS =
+            "board_id AS boardId, category, title, writer, "
+          + "view_count AS viewCount, like_count AS likeCount, dislike_count AS dislikeCount, "
+          + "comment_count AS commentCount, created_at AS createdAt, file_name AS fileName";
+    
+    /**
+     * BoardEntity用の取得列（findEntityById / findEntitiesByIdsで共通）
+     */
+    String ENTITY_COLUMNS =
+            "board_id AS boardId, category, title, content, writer, "
+          + "view_count AS viewCount, like_count AS likeCount, dislike_count AS dislikeCount, "
+          + "comment_count AS commentCount, host(ip_address) AS ipAddress, file_name AS fileName, file_path AS filePath, "
+          + "COALESCE(file_size, 0) AS fileSize, created_at AS createdAt, "
+          + "updated_at AS updatedAt, version";
+    
     /**
      * 全件検索
      * 
@@ -19,6 +47,249 @@ public interface BoardMapper {
      */
     List<BoardEntity> findAll();
     
+    /**
+     * ページ検索（キーセット方式・絞り込み付き）
+     * 
+     * OFFSETを使わず board_id を基準にシークするため、
+     * 何ページ目でも主キーインデックスから limit 件だけ読めば済む
+     * - afterId指定: afterIdより古い投稿を新しい順に取得（次ページ）
+     * - beforeId指定: beforeIdより新しい投稿を古い順に取得（前ページ、呼び出し側で反転）
+     * - 両方null: 最新ページ
+     * 
+     * 一覧表示に必要な列だけを選択し、BoardListResponseに直接マッピングする
+     * （本文を転送・デコードしないため、一覧1件あたりのコストが小さい）
+     * 
+     * 絞り込み条件はSQLで評価する（sql/01_board_list_indexes.sql のインデックスを使用）
+     * - category: (category, board_id) の部分インデックス
+     * - titlePattern: pg_trgm のGINインデックス（ILIKEの部分一致）
+     * 
+     * @param category カテゴリ（null可）
+     * @param titlePattern タイトルのILIKEパターン（'%キーワード%'、null可）
+     * @param afterId この board_id より古い投稿を取得（null可）
+     * @param beforeId この board_id より新しい投稿を取得（null可）
+     * @param limit 取得件数
+     * @return List<BoardListResponse> 一覧用データのリスト
+     */
+    @Select({
+        "<script>",
+        "SELECT " + LIST_COLUMNS,
+        "FROM board_data",
+        "WHERE is_deleted = FALSE",
+        "<if test='category != null'>AND category = #{category}</if>",
+        "<if test='titlePattern != null'>AND title ILIKE #{titlePattern}</if>",
+        "<if test='afterId != null'>AND board_id &lt; #{afterId}</if>",
+        "<if test='beforeId != null'>AND board_id &gt; #{beforeId}</if>",
+        "ORDER BY board_id <if test='beforeId != null'>ASC</if><if test='beforeId == null'>DESC</if>",
+        "LIMIT #{limit}",
+        "</script>"
+    })
+    List<BoardListResponse> findPage(
+            @Param("category") String category,
+            @Param("titlePattern") String titlePattern,
+            @Param("afterId") Long afterId,
+            @Param("beforeId") Long beforeId,
+            @Param("limit") int limit
+    );
+    
+    /**
+     * ページ検索のストリーミング版（JSON API用）
+     * 
+     * 条件はfindPageと同じだが、結果をListに溜めず1行ずつResultHandlerに渡す
+     * - 前ページ（beforeId指定）も外側のORDER BYで新しい順に並べ直して返すため、
+     *   呼び出し側で反転する必要がない
+     * 
+     * @param category カテゴリ（null可）
+     * @param titlePattern タイトルのILIKEパターン（null可）
+     * @param afterId この board_id より古い投稿を取得（null可）
+     * @param beforeId この board_id より新しい投稿を取得（null可）
+     * @param limit 取得件数
+     * @param handler 1行ごとに呼ばれるハンドラ（新しい順）
+     */
+    @Select({
+        "<script>",
+        "SELECT * FROM (",
+        "  SELECT " + LIST_COLUMNS,
+        "  FROM board_data",
+        "  WHERE is_deleted = FALSE",
+        "  <if test='category != null'>AND category = #{category}</if>",
+        "  <if test='titlePattern != null'>AND title ILIKE #{titlePattern}</if>",
+        "  <if test='afterId != null'>AND board_id &lt; #{afterId}</if>",
+        "  <if test='beforeId != null'>AND board_id &gt; #{beforeId}</if>",
+        "  ORDER BY board_id <if test='beforeId != null'>ASC</if><if test='beforeId == null'>DESC</if>",
+        "  LIMIT #{limit}",
+        ") page",
+        "ORDER BY boardId DESC",
+        "</script>"
+    })
+    void streamPage(
+            @Param("category") String category,
+            @Param("titlePattern") String titlePattern,
+            @Param("afterId") Long afterId,
+            @Param("beforeId") Long beforeId,
+            @Param("limit") int limit,
+            ResultHandler<BoardListResponse> handler
+    );
+    
+    /**
+     * 指定IDより新しい投稿が（絞り込み条件内に）存在するか
+     * - ストリーミングの前ページで「さらに前のページ」の有無を判定する
+     * 
+     * @param category カテゴリ（null可）
+     * @param titlePattern タイトルのILIKEパターン（null可）
+     * @param boardId 基準の投稿ID
+     * @return 存在する場合true
+     */
+    @Select({
+        "<script>",
+        "SELECT EXISTS (",
+        "  SELECT 1 FROM board_data",
+        "  WHERE is_deleted = FALSE",
+        "  <if test='category != null'>AND category = #{category}</if>",
+        "  <if test='titlePattern != null'>AND title ILIKE #{titlePattern}</if>",
+        "  AND board_id &gt; #{boardId}",
+        ")",
+        "</script>"
+    })
+    boolean existsNewer(
+            @Param("category") String category,
+            @Param("titlePattern") String titlePattern,
+            @Param("boardId") long boardId
+    );
+    
+    /**
+     * ID配列による一覧用データ検索
+     * 
+     * 全文検索インデックス（BoardSearchIndex）で絞り込んだ投稿IDの
+     * 1ページ分をまとめて取得する（並び順は呼び出し側で検索順位に戻す）
+     * 
+     * @param ids 投稿IDの配列
+     * @return List<BoardListResponse> 一覧用データのリスト（順不同）
+     */
+    @Select({
+        "SELECT " + LIST_COLUMNS,
+        "FROM board_data",
+        "WHERE board_id = ANY(#{ids,typeHandler=org.apache.ibatis.type.ArrayTypeHandler})",
+        "AND is_deleted = FALSE"
+    })
+    List<BoardListResponse> findListByIds(@Param("ids") Long[] ids);
+    
+    /**
+     * ID配列による一覧用データのストリーミング取得（JSON API用）
+     * - 配列の並び順（検索順位）のまま1行ずつハンドラへ渡す
+     * 
+     * @param ids 投稿IDの配列（この順で返す）
+     * @param handler 1行ごとに呼ばれるハンドラ
+     */
+    @Select({
+        "SELECT " + LIST_COLUMNS,
+        "FROM board_data",
+        "WHERE board_id = ANY(#{ids,typeHandler=org.apache.ibatis.type.ArrayTypeHandler})",
+        "AND is_deleted = FALSE",
+        "ORDER BY array_position(#{ids,typeHandler=org.apache.ibatis.type.ArrayTypeHandler}, board_id)"
+    })
+    void streamListByIds(@Param("ids") Long[] ids, ResultHandler<BoardListResponse> handler);
+    
+    /**
+     * 全文検索インデックス構築用の全件走査
+     * 
+     * 結果をListに溜めず、1行ずつResultHandlerに渡す（fetchSize単位でDBから読み込む）
+     * 
+     * @param handler 1行ごとに呼ばれるハンドラ（boardId, category, title, contentのみ設定）
+     */
+    @Select({
+        "SELECT board_id AS boardId, category, title, content",
+        "FROM board_data",
+        "WHERE is_deleted = FALSE"
+    })
+    @Options(fetchSize = 1000)
+    void scanForSearchIndex(ResultHandler<BoardEntity> handler);
+    
+    /**
+     * タイトル補完用トライ木の構築用の全件走査（board_id, titleのみ）
+     * 
+     * @param handler 1行ごとに呼ばれるハンドラ（boardId, titleのみ設定）
+     */
+    @Select({
+        "SELECT board_id AS boardId, title",
+        "FROM board_data",
+        "WHERE is_deleted = FALSE"
+    })
+    @Options(fetchSize = 1000)
+    void scanTitles(ResultHandler<BoardEntity> handler);
+    
+    /**
+     * カテゴリ別の有効な投稿件数（件数キャッシュの初期化用）
+     * 
+     * @return 1行ごとに category, cnt をキーに持つMap
+     */
+    @Select({
+        "SELECT category, COUNT(*) AS cnt",
+        "FROM board_data",
+        "WHERE is_deleted = FALSE",
+        "GROUP BY category"
+    })
+    List<Map<String, Object>> countByCategory();
+    
+    /**
+     * 詳細画面用: 投稿とコメントを1回のSQLで取得
+     * 
+     * 投稿にコメントをLEFT JOINし、1行 = 投稿 × コメント1件で返す
+     * - コメントがない場合はコメント列がNULLの1行
+     * - 本文は先頭行のみ（ROW_NUMBER() = 1）に入れ、コメント数分の重複転送を避ける
+     * - コメントは最初の1ページ分の親コメントのみ（CommentMapper.findThreadPageと同じ条件、afterIdなし）
+     *   続きは「もっと見る」でCommentMapper.findThreadPageから取得
+     * - 返信の行は返さず、親コメントごとの返信数（replyCount）のみ
+     *   返信は表示時にCommentMapper.findRepliesから取得
+     * - コメントはID順
+     * - commentCount: 返信を含む全コメント数（board_data.comment_count、見出し表示用）
+     * - 論理削除された投稿は0行、論理削除されたコメントは含まない
+     * 
+     * @param boardId 投稿ID
+     * @param commentLimit 1ページの親コメント数
+     * @return 結合結果の行リスト
+     */
+    @Select({
+        "WITH RECURSIVE roots AS (",
+        "  SELECT c.comment_id, ROW_NUMBER() OVER (ORDER BY c.comment_id) AS rn",
+        "  FROM comment_data c",
+        "  WHERE c.board_id = #{boardId}",
+        "    AND c.is_deleted = FALSE",
+        "    AND NOT EXISTS (SELECT 1 FROM comment_data p",
+        "                    WHERE p.comment_id = c.parent_comment_id AND p.is_deleted = FALSE)",
+        "  ORDER BY c.comment_id",
+        "  LIMIT #{commentLimit} + 1",
+        "), thread AS (",
+        "  SELECT comment_id, comment_id AS root_id FROM roots WHERE rn <= #{commentLimit}",
+        "  UNION ALL",
+        "  SELECT c.comment_id, t.root_id FROM comment_data c",
+        "  JOIN thread t ON c.parent_comment_id = t.comment_id",
+        "  WHERE c.is_deleted = FALSE",
+        "), page AS (",
+        "  SELECT r.comment_id, COALESCE(rc.reply_count, 0) AS reply_count",
+        "  FROM roots r",
+        "  LEFT JOIN (SELECT root_id, COUNT(*) - 1 AS reply_count",
+        "             FROM thread GROUP BY root_id) rc ON rc.root_id = r.comment_id",
+        ")",
+        "SELECT b.board_id AS boardId, b.category, b.title,",
+        "       CASE WHEN ROW_NUMBER() OVER (ORDER BY c.comment_id) = 1",
+        "            THEN b.content END AS content,",
+        "       b.writer, b.view_count AS viewCount, b.like_count AS likeCount,",
+        "       b.dislike_count AS dislikeCount, b.file_name AS fileName,",
+        "       b.file_path AS filePath, b.file_size AS fileSize,",
+        "       b.created_at AS createdAt, b.updated_at AS updatedAt, b.version,",
+        "       c.comment_id AS commentId, c.writer AS commentWriter,",
+        "       c.content AS commentContent, c.parent_comment_id AS parentCommentId,",
+        "       c.created_at AS commentCreatedAt, c.updated_at AS commentUpdatedAt,",
+        "       p.reply_count AS replyCount, b.comment_count AS commentCount",
+        "FROM board_data b",
+        "LEFT JOIN (page p JOIN comment_data c ON c.comment_id = p.comment_id) ON TRUE",
+        "WHERE b.board_id = #{boardId}",
+        "  AND b.is_deleted = FALSE",
+        "ORDER BY c.comment_id"
+    })
+    List<BoardDetailRow> findDetailRows(@Param("boardId") long boardId,
+                                        @Param("commentLimit") int commentLimit);
+    
     /**
      * ID検索
      * 
@@ -27,6 +298,39 @@ public interface BoardMapper {
      */
     BoardEntity findById(@Param("boardId") long boardId);
     
+    /**
+     * ID検索（バージョン列を含む）
+     * 
+     * BoardDao.findById()から使用（編集フォームへversionを渡すため、列を明示）
+     * 
+     * @param boardId 掲示板ID
+     * @return BoardEntity 掲示板データ（見つからない・削除済みの場合null）
+     */
+    @Select({
+        "SELECT " + ENTITY_COLUMNS,
+        "FROM board_data",
+        "WHERE board_id = #{boardId}",
+        "  AND is_deleted = FALSE"
+    })
+    BoardEntity findEntityById(@Param("boardId") long boardId);
+    
+    /**
+     * ID配列による一括検索（BoardEntity）
+     * 
+     * findEntityById()を件数分繰り返す代わりに、1回のSQLで取得する
+     * 
+     * @param ids 投稿IDの配列
+     * @return List<BoardEntity> 見つかった投稿（指定順、なし・削除済みは含まない）
+     */
+    @Select({
+        "SELECT " + ENTITY_COLUMNS,
+        "FROM board_data",
+        "WHERE board_id = ANY(#{ids,typeHandler=org.apache.ibatis.type.ArrayTypeHandler})",
+        "  AND is_deleted = FALSE",
+        "ORDER BY array_position(#{ids,typeHandler=org.apache.ibatis.type.ArrayTypeHandler}, board_id)"
+    })
+    List<BoardEntity> findEntitiesByIds(@Param("ids") Long[] ids);
+    
     /**
      * カテゴリ検索
      * 
@@ -59,6 +363,25 @@ public interface BoardMapper {
             @Param("fileSize") Long fileSize
     );
     
+    /**
+     * 新規登録（採番されたboard_idをEntityに設定）
+     * 
+     * insert()と同じ内容を登録し、useGeneratedKeysで
+     * 採番された board_id を entity.boardId に書き戻す
+     * （BoardEntity.fileSizeはプリミティブ型のため、0はNULLとして登録）
+     * 
+     * @param entity 登録内容（category, title, content, writer, ipAddress, file*）
+     * @return int 影響を受けた行数（通常は1）
+     */
+    @Insert({
+        "INSERT INTO board_data",
+        "(category, title, content, writer, ip_address, file_name, file_path, file_size)",
+        "VALUES (#{category}, #{title}, #{content}, #{writer}, CAST(#{ipAddress} AS inet),",
+        "#{fileName}, #{filePath}, NULLIF(#{fileSize}, 0))"
+    })
+    @Options(useGeneratedKeys = true, keyProperty = "boardId", keyColumn = "board_id")
+    int insertEntity(BoardEntity entity);
+    
     /**
      * 更新
      * 
@@ -92,10 +415,133 @@ public interface BoardMapper {
      */
     int delete(@Param("boardId") long boardId);
     
+    /**
+     * バージョン確認付き更新（存在確認・競合確認・更新を1文で実行）
+     * 
+     * - target: 更新前の行（投稿がない・削除済みなら0行）
+     * - updated: versionが一致する場合のみ更新し、新しいversionを返す
+     *   （同時更新は行ロック後にversionが再評価されるため、どちらか一方のみ成功）
+     * - 結果は常に1行: currentVersionがNULL=投稿なし、newVersionがNULL=競合
+     * 
+     * @param boardId 更新対象の掲示板ID
+     * @param version 編集フォームで読み込んだバージョン（nullの場合は確認しない）
+     * @param fileName ファイル名（新しいファイルがある場合のみ、null可）
+     * @return 書き込み結果
+     */
+    @Select({
+        "<script>",
+        "WITH target AS (",
+        "  SELECT board_id, version, category FROM board_data",
+        "  WHERE board_id = #{boardId} AND is_deleted = FALSE",
+        "), updated AS (",
+        "  UPDATE board_data AS b",
+        "  SET category = #{category}, title = #{title}, content = #{content}, writer = #{writer},",
+        "      <if test='fileName != null and fileName != \"\"'>",
+        "      file_name = #{fileName}, file_path = #{filePath}, file_size = #{fileSize},",
+        "      </if>",
+        "      updated_at = CURRENT_TIMESTAMP, version = b.version + 1",
+        "  FROM target t",
+        "  WHERE b.board_id = t.board_id AND b.is_deleted = FALSE",
+        "  <if test='version != null'>AND b.version = #{version}</if>",
+        "  RETURNING b.version",
+        ")",
+        "SELECT (SELECT version FROM target) AS currentVersion,",
+        "       (SELECT version FROM updated) AS newVersion,",
+        "       (SELECT category FROM target) AS previousCategory",
+        "</script>"
+    })
+    BoardWriteResult updateIfVersion(
+            @Param("boardId") long boardId,
+            @Param("version") Integer version,
+            @Param("category") String category,
+            @Param("title") String title,
+            @Param("content") String content,
+            @Param("writer") String writer,
+            @Param("fileName") String fileName,
+            @Param("filePath") String filePath,
+            @Param("fileSize") Long fileSize
+    );
+    
+    /**
+     * バージョン確認付き論理削除（存在確認・競合確認・削除を1文で実行）
+     * 
+     * 結果の見方はupdateIfVersionと同じ
+     * 
+     * @param boardId 削除対象の掲示板ID
+     * @param version 画面で読み込んだバージョン（nullの場合は確認しない）
+     * @return 書き込み結果
+     */
+    @Select({
+        "<script>",
+        "WITH target AS (",
+        "  SELECT board_id, version, category FROM board_data",
+        "  WHERE board_id = #{boardId} AND is_deleted = FALSE",
+        "), deleted AS (",
+        "  UPDATE board_data AS b",
+        "  SET is_deleted = TRUE, version = b.version + 1",
+        "  FROM target t",
+        "  WHERE b.board_id = t.board_id AND b.is_deleted = FALSE",
+        "  <if test='version != null'>AND b.version = #{version}</if>",
+        "  RETURNING b.version",
+        ")",
+        "SELECT (SELECT version FROM target) AS currentVersion,",
+        "       (SELECT version FROM deleted) AS newVersion,",
+        "       (SELECT category FROM target) AS previousCategory",
+        "</script>"
+    })
+    BoardWriteResult deleteIfVersion(
+            @Param("boardId") long boardId,
+            @Param("version") Integer version
+    );
+    
     /**
      * 閲覧数増加
      * 
      * @param boardId 対象の掲示板ID
      */
     void incrementViewCount(@Param("boardId") long boardId);
-}
\ No newline at end of file
+    
+    /**
+     * 閲覧数の一括加算（閲覧数バッファのフラッシュ用）
+     * 
+     * 投稿IDと加算値の配列をunnestで表に展開し、1回のUPDATEで全投稿に反映する
+     * 
+     * @param ids 投稿IDの配列
+     * @param deltas idsと同じ並びの加算値の配列
+     * @return 更新された行数
+     */
+    @Update({
+        "UPDATE board_data AS b",
+        "SET view_count = b.view_count + v.delta",
+        "FROM unnest(",
+        "  CAST(#{ids,typeHandler=org.apache.ibatis.type.ArrayTypeHandler} AS bigint[]),",
+        "  CAST(#{deltas,typeHandler=org.apache.ibatis.type.ArrayTypeHandler} AS bigint[])",
+        ") AS v(board_id, delta)",
+        "WHERE b.board_id = v.board_id"
+    })
+    int addViewCounts(@Param("ids") Long[] ids, @Param("deltas") Long[] deltas);
+    
+    /**
+     * いいね・よくないね数の一括加算（投票バッファのフラッシュ用）
+     * 
+     * addViewCountsと同じく、配列をunnestで表に展開して1回のUPDATEで反映する
+     * 
+     * @param ids 投稿IDの配列
+     * @param likes idsと同じ並びのいいね加算値の配列
+     * @param dislikes idsと同じ並びのよくないね加算値の配列
+     * @return 更新された行数
+     */
+    @Update({
+        "UPDATE board_data AS b",
+        "SET like_count = b.like_count + v.likes,",
+        "    dislike_count = b.dislike_count + v.dislikes",
+        "FROM unnest(",
+        "  CAST(#{ids,typeHandler=org.apache.ibatis.type.ArrayTypeHandler} AS bigint[]),",
+        "  CAST(#{likes,typeHandler=org.apache.ibatis.type.ArrayTypeHandler} AS bigint[]),",
+        "  CAST(#{dislikes,typeHandler=org.apache.ibatis.type.ArrayTypeHandler} AS bigint[])",
+        ") AS v(board_id, likes, dislikes)",
+        "WHERE b.board_id = v.board_id"
+    })
+    int addVoteCounts(@Param("ids") Long[] ids, @Param("likes") Long[] likes,
+            @Param("dislikes") Long[] dislikes);
+}
@@ -3,6 +3,7 @@ package mapper;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 
 import model.CommentData;
 
@@ -20,6 +21,96 @@ public interface CommentMapper {
      */
     List<CommentData> getCommentsByBoardId(@Param("boardId") long boardId);
     
+    /**
+     * コメント1ページ分を取得（親コメントのキーセットページング）
+     * 
+     * - 親コメント: 親がない、または親が削除済みのコメント（返信への返信は最上位の親コメントの返信として数える）
+     * - afterIdより後の親コメントをID順にlimit + 1件（次ページ判定用に1件多く）
+     * - 返信の行は返さず、先頭limit件の親コメントに返信数（返信への返信を含む）を付ける
+     *   返信の本体は表示時にfindRepliesで取得する
+     * - limit + 1件目の親コメントは次ページの有無の判定にのみ使用（返信数0）
+     * - 結果はID順の親コメント一覧（CommentPageResponse.ofでページに区切る）
+     * 
+     * @param boardId 掲示板ID
+     * @param afterId この comment_id より後の親コメントから取得（null可: 先頭ページ）
+     * @param limit 1ページの親コメント数
+     * @return コメントリスト（ID順）
+     */
+    @Select({
+        "<script>",
+        "WITH RECURSIVE roots AS (",
+        "  SELECT c.comment_id, ROW_NUMBER() OVER (ORDER BY c.comment_id) AS rn",
+        "  FROM comment_data c",
+        "  WHERE c.board_id = #{boardId}",
+        "    AND c.is_deleted = FALSE",
+        "    AND NOT EXISTS (SELECT 1 FROM comment_data p",
+        "                    WHERE p.comment_id = c.parent_comment_id AND p.is_deleted = FALSE)",
+        "    <if test='afterId != null'>AND c.comment_id &gt; #{afterId}</if>",
+        "  ORDER BY c.comment_id",
+        "  LIMIT #{limit} + 1",
+        "), thread AS (",
+        "  SELECT comment_id, comment_id AS root_id FROM roots WHERE rn &lt;= #{limit}",
+        "  UNION ALL",
+        "  SELECT c.comment_id, t.root_id FROM comment_data c",
+        "  JOIN thread t ON c.parent_comment_id = t.comment_id",
+        "  WHERE c.is_deleted = FALSE",
+        "), reply_counts AS (",
+        "  SELECT root_id, COUNT(*) - 1 AS reply_count FROM thread GROUP BY root_id",
+        ")",
+        "SELECT c.comment_id AS commentId, c.board_id AS boardId, c.writer, c.content,",
+        "       c.parent_comment_id AS parentCommentId, c.created_at AS createdAt,",
+        "       c.updated_at AS updatedAt, COALESCE(rc.reply_count, 0) AS replyCount",
+        "FROM roots r",
+        "JOIN comment_data c ON c.comment_id = r.comment_id",
+        "LEFT JOIN reply_counts rc ON rc.root_id = r.comment_id",
+        "ORDER BY c.comment_id",
+        "</script>"
+    })
+    List<CommentData> findThreadPage(
+        @Param("boardId") long boardId,
+        @Param("afterId") Long afterId,
+        @Param("limit") int limit
+    );
+    
+    /**
+     * 親コメントへの返信を取得（返信への返信を含む、キーセットページング）
+     * 
+     * - findThreadPageで返信数のみ返した親コメントの返信を、表示時に取得する
+     * - 削除済みのコメントとその下の返信は含まない（findThreadPageの返信数と同じ範囲）
+     * - afterIdより後の返信をID順にlimit + 1件（次ページ判定用に1件多く）
+     * 
+     * @param parentCommentId 親コメントID
+     * @param afterId この comment_id より後の返信から取得（null可: 先頭から）
+     * @param limit 1回の取得件数
+     * @return 返信リスト（ID順、最大limit + 1件）
+     */
+    @Select({
+        "<script>",
+        "WITH RECURSIVE replies AS (",
+        "  SELECT c.comment_id FROM comment_data c",
+        "  WHERE c.parent_comment_id = #{parentCommentId}",
+        "    AND c.is_deleted = FALSE",
+        "  UNION ALL",
+        "  SELECT c.comment_id FROM comment_data c",
+        "  JOIN replies r ON c.parent_comment_id = r.comment_id",
+        "  WHERE c.is_deleted = FALSE",
+        ")",
+        "SELECT c.comment_id AS commentId, c.board_id AS boardId, c.writer, c.content,",
+        "       c.parent_comment_id AS parentCommentId, c.created_at AS createdAt,",
+        "       c.updated_at AS updatedAt",
+        "FROM replies r",
+        "JOIN comment_data c ON c.comment_id = r.comment_id",
+        "<if test='afterId != null'>WHERE c.comment_id &gt; #{afterId}</if>",
+        "ORDER BY c.comment_id",
+        "LIMIT #{limit} + 1",
+        "</script>"
+    })
+    List<CommentData> findReplies(
+        @Param("parentCommentId") long parentCommentId,
+        @Param("afterId") Long afterId,
+        @Param("limit") int limit
+    );
+    
     /**
      * コメントID検索
      * 
@@ -29,58 +120,121 @@ public interface CommentMapper {
     CommentData getCommentById(@Param("commentId") long commentId);
     
     /**
-     * コメント新規登録（通常コメント）
-     * 
-     * @param boardId 掲示板ID
-     * @param writer 作成者
-     * @param content コメント内容
-     * @param ipAddress IPアドレス
-     * @return 影響を受けた行数
+     * 【返却列】コメントの登録・更新・削除でRETURNINGする列（影響を受けた行をそのまま返す）
      */
-    int addComment(
-        @Param("boardId") long boardId,
-        @Param("writer") String writer,
-        @Param("content") String content,
-        @Param("ipAddress") String ipAddress
-    );
+    String RETURNING_COLUMNS =
+        "comment_id AS commentId, board_id AS boardId, writer, content,"
+        + " parent_comment_id AS parentCommentId, created_at AS createdAt,"
+        + " updated_at AS updatedAt";
     
     /**
-     * 返信コメント追加
+     * コメント登録（通常コメント・返信共通）し、登録した行を返す
+     * 
+     * - RETURNINGで採番されたIDと登録日時を同じ往復で取得（登録後の照会なし）
+     * - 投稿のコメント数（board_data.comment_count）の加算も同じ文で実行
+     * - INSERTを@Selectで実行するため、呼び出し側でcommit(true)すること
      * 
      * @param boardId 掲示板ID
      * @param writer 作成者
      * @param content コメント内容
-     * @param parentCommentId 親コメントID
+     * @param parentCommentId 親コメントID（通常コメントの場合null）
      * @param ipAddress IPアドレス
-     * @return 影響を受けた行数
+     * @return 登録したコメント
      */
-    int addReply(
+    @Select({
+        "WITH inserted AS (",
+        "  INSERT INTO comment_data (board_id, writer, content, parent_comment_id, ip_address)",
+        "  VALUES (#{boardId}, #{writer}, #{content}, #{parentCommentId,jdbcType=BIGINT},",
+        "          CAST(#{ipAddress} AS inet))",
+        "  RETURNING *",
+        "), counted AS (",
+        "  UPDATE board_data b SET comment_count = b.comment_count + 1",
+        "  FROM inserted i WHERE b.board_id = i.board_id",
+        ")",
+        "SELECT " + RETURNING_COLUMNS + " FROM inserted"
+    })
+    CommentData insertComment(
         @Param("boardId") long boardId,
         @Param("writer") String writer,
         @Param("content") String content,
-        @Param("parentCommentId") long parentCommentId,
+        @Param("parentCommentId") Long parentCommentId,
         @Param("ipAddress") String ipAddress
     );
     
     /**
-     * コメント更新
+     * コメント更新し、更新した行を返す
+     * 
+     * - RETURNINGで投稿ID・更新日時を同じ往復で取得（更新前後の照会なし）
+     * - 削除済みのコメントは対象外（null）
+     * - UPDATEを@Selectで実行するため、呼び出し側でcommit(true)すること
      * 
      * @param commentId コメントID
      * @param content コメント内容
-     * @return 影響を受けた行数
+     * @return 更新したコメント（コメントがない・削除済みの場合null）
      */
-    int updateComment(
+    @Select({
+        "UPDATE comment_data",
+        "SET content = #{content}, updated_at = CURRENT_TIMESTAMP",
+        "WHERE comment_id = #{commentId}",
+        "  AND is_deleted = FALSE",
+        "RETURNING " + RETURNING_COLUMNS
+    })
+    CommentData updateCommentReturning(
         @Param("commentId") long commentId,
         @Param("content") String content
     );
     
     /**
-     * コメント論理削除
+     * コメント論理削除し、削除した行を返す
+     * 
+     * - RETURNINGで投稿IDを同じ往復で取得（削除前の照会なし）
+     * - 投稿のコメント数（board_data.comment_count）の減算も同じ文で実行
+     * - 削除済みのコメントは対象外（null）
+     *   同じコメントの同時削除では、後の削除は行ロック解放後に再評価され0行となる
+     *   （コメント数を二重に減らさないため）
+     * - UPDATEを@Selectで実行するため、呼び出し側でcommit(true)すること
      * 
      * @param commentId コメントID
-     * @return 影響を受けた行数
+     * @return 削除したコメント（コメントがない・削除済みの場合null）
      */
-    int deleteComment(@Param("commentId") long commentId);
+    @Select({
+        "WITH deleted AS (",
+        "  UPDATE comment_data SET is_deleted = TRUE",
+        "  WHERE comment_id = #{commentId}",
+        "    AND is_deleted = FALSE",
+        "  RETURNING *",
+        "), counted AS (",
+        "  UPDATE board_data b SET comment_count = GREATEST(b.comment_count - 1, 0)",
+        "  FROM deleted d WHERE b.board_id = d.board_id",
+        ")",
+        "SELECT " + RETURNING_COLUMNS + " FROM deleted"
+    })
+    CommentData deleteCommentReturning(@Param("commentId") long commentId);
+    
+    /**
+     * 指定IDより後に登録されたコメントを取得（コメント配信の再接続時の取りこぼし分）
+     * 
+     * @param boardId 掲示板ID
+     * @param afterId この comment_id より後のコメント
+     * @param limit 最大件数
+     * @return コメントリスト（ID順）
+     */
+    @Select({
+        "SELECT comment_id AS commentId, board_id AS boardId, writer, content,",
+        "       parent_comment_id AS parentCommentId, created_at AS createdAt,",
+        "       updated_at AS updatedAt",
+        "FROM comment_data",
+        "WHERE board_id = #{boardId}",
+        "  AND comment_id > #{afterId}",
+        "  AND is_deleted = FALSE",
+        "ORDER BY comment_id",
+        "LIMIT #{limit}"
+    })
+    List<CommentData> findCommentsAfter(
+        @Param("boardId") long boardId,
+        @Param("afterId") long afterId,
+        @Param("limit") int limit
+    );
     
     /**
      * 特定掲示板のコメント数を取得
@@ -51,6 +51,14 @@ public class CommentData {
      * - NULLの場合は未編集
      */
     
+    private int replyCount;
+    /*
+     * 【返信数】
+     * - 親コメントの返信数（返信への返信を含む）
+     * - 詳細画面では返信の本体を取得せず、この件数のみ表示する
+     *   （返信は「返信を表示」で CommentAction.replies から取得）
+     */
+    
     // ========== Getterメソッド ==========
     // フィールドの値を取得するためのメソッド
     // JSPの<s:property value="commentId"/>で呼ばれる
@@ -127,6 +135,14 @@ public class CommentData {
         return updatedAt;
     }
     
+    /**
+     * 返信数を取得
+     * @return 返信数（返信への返信を含む）
+     */
+    public int getReplyCount() {
+        return replyCount;
+    }
+    
     // ========== Setterメソッド ==========
     // フィールドに値を設定するためのメソッド
     // Struts2が自動的にフォームの値を設定する際に呼ばれる
@@ -203,4 +219,12 @@ public class CommentData {
         this.updatedAt = updatedAt;
     }
     
+    /**
+     * 返信数を設定
+     * @param replyCount 設定する返信数
+     */
+    public void setReplyCount(int replyCount) {
+        this.replyCount = replyCount;
+    }
+    
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import dao.BoardDao;
+
+/**
+ * 【BoardCountCacheクラス】
+ * カテゴリ別の投稿件数（論理削除を除く）をメモリ上で管理
+ *
+ * 役割:
+ * - 一覧画面の「X / Yページ」とカテゴリリンクの件数表示に使用
+ * - リクエストごとのCOUNT(*)を不要にする
+ *
+ * 件数の維持:
+ * - 初期化: GROUP BY category の1回のSQLで全カテゴリを読み込む
+ * - 以後: BoardServiceの登録・削除・カテゴリ変更に合わせて加減算
+ * - 初期化前はDBを読まず、最初の参照時に読み込む
+ *
+ * 設計パターン: Singleton Pattern
+ */
+public class BoardCountCache {
+
+    private static final Logger logger = LogManager.getLogger(BoardCountCache.class);
+
+    // ========== Singleton Pattern 実装 ==========
+
+    private static BoardCountCache instance = new BoardCountCache();
+
+    public static BoardCountCache getInstance() {
+        return instance;
+    }
+
+    private BoardCountCache() {
+    }
+
+    // ========== 件数 ==========
+
+    /**
+     * カテゴリ → 件数（カテゴリ未設定の投稿は空文字のキー）
+     */
+    private final Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    /**
+     * 全カテゴリの合計件数
+     */
+    private final AtomicLong total = new AtomicLong();
+
+    private volatile boolean ready = false;
+
+    // ========== 初期化 ==========
+
+    /**
+     * DBから件数を読み込み直す
+     *
+     * @return 成功時true
+     */
+    public synchronized boolean reload() {
+        Map<String, Long> loaded = BoardDao.countByCategory();
+        if (loaded == null) {
+            logger.error("【CountCache】件数の読み込み失敗");
+            return false;
+        }
+
+        counts.clear();
+        long sum = 0;
+        for (Map.Entry<String, Long> entry : loaded.entrySet()) {
+            counts.put(entry.getKey(), new AtomicLong(entry.getValue()));
+            sum += entry.getValue();
+        }
+        total.set(sum);
+        ready = true;
+
+        logger.info("【CountCache】件数読み込み完了 - 合計: " + sum + "件, カテゴリ: " + loaded.keySet());
+        return true;
+    }
+
+    private void ensureLoaded() {
+        if (!ready) {
+            reload();
+        }
+    }
+
+    // ========== 参照 ==========
+
+    /**
+     * 投稿件数を取得
+     *
+     * @param category カテゴリ（null・空文字: 全カテゴリの合計）
+     * @return 件数（読み込み失敗時は0）
+     */
+    public long getCount(String category) {
+        ensureLoaded();
+        if (category == null || category.isEmpty()) {
+            return total.get();
+        }
+        AtomicLong count = counts.get(category);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * 総ページ数を取得
+     *
+     * @param category カテゴリ（null: 全カテゴリ）
+     * @param pageSize 1ページあたりの件数
+     * @return 総ページ数（0件の場合も1）
+     */
+    public int getPageCount(String category, int pageSize) {
+        long count = getCount(category);
+        return (int) Math.max(1, (count + pageSize - 1) / pageSize);
+    }
+
+    // ========== 加減算 ==========
+
+    /**
+     * 投稿登録時
+     */
+    public void onInsert(String category) {
+        adjust(category, 1);
+    }
+
+    /**
+     * 投稿削除時
+     */
+    public void onDelete(String category) {
+        adjust(category, -1);
+    }
+
+    /**
+     * カテゴリ変更時
+     */
+    public void onCategoryChange(String oldCategory, String newCategory) {
+        String from = oldCategory != null ? oldCategory : "";
+        String to = newCategory != null ? newCategory : "";
+        if (from.equals(to)) {
+            return;
+        }
+        adjust(oldCategory, -1);
+        adjust(newCategory, 1);
+    }
+
+    private void adjust(String category, long delta) {
+        // 未読み込みの場合は、読み込み時の件数に反映済みとなる
+        if (!ready) {
+            return;
+        }
+        String key = category != null ? category : "";
+        counts.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        total.addAndGet(delta);
+    }
+}
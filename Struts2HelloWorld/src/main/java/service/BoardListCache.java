@@ -0,0 +1,321 @@
+package service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import dao.BoardVersionStamp;
+import dto.response.BoardListResponse;
+import dto.response.BoardPageResponse;
+import util.MyBatisUtil;
+import util.ReadRouting;
+
+/**
+ * 【BoardListCacheクラス】
+ * 掲示板一覧の先頭ページ（カテゴリ・キーワード別）のキャッシュ
+ *
+ * 役割:
+ * - boardList.actionの大半を占める「1ページ目」の結果を保持
+ * - 投稿の登録・更新・削除・閲覧数増加時に、影響するエントリだけを破棄
+ * - ヒット・ミス・追い出し件数を記録（サイズ調整用）
+ *
+ * キャッシュ対象:
+ * - カーソル（afterId/beforeId）なしのリクエストのみ
+ * - キー: カテゴリ + 検索キーワード
+ *
+ * 破棄の判定（正確な無効化）:
+ * - 更新・削除・閲覧数増加: その投稿を表示しているエントリ
+ * - 登録: 新しい投稿は必ず最新なので、同じカテゴリ範囲の1ページ目
+ * - 更新: 更新後のカテゴリ範囲で、その投稿IDが表示範囲に入るエントリ
+ * - キーワード検索のエントリ: 同じカテゴリ範囲の登録・更新で破棄（順位が変わるため）
+ *
+ * 容量: MAX_ENTRIES件を超えたら最も使われていないエントリを追い出す（LRU）
+ *
+ * ETag（BoardVersionStamp）との順序:
+ * - 登録・更新・削除・コメント変更・閲覧数と投票数の反映では、エントリを破棄した後にETagを進める
+ *   （新しいETagで古い一覧が返され、ブラウザがそれを304で使い続けることを防ぐ）
+ * - そのため書き込み側はこのクラスの無効化メソッドだけを呼び、ETagを個別に進めない
+ *
+ * レプリカ使用時:
+ * - 登録・更新・削除からReadRouting.REPLICA_LAG_MILLISの間は登録しない
+ *   （反映遅れのレプリカから読んだ古い一覧を、次の変更まで保持しないため）
+ * - 閲覧数・投票数のみの変更（onViewCountChange・onVoteCountChange）は対象外（数値の遅れは許容）
+ *
+ * 設計パターン: Singleton Pattern
+ */
+public class BoardListCache {
+
+    private static final Logger logger = LogManager.getLogger(BoardListCache.class);
+
+    // ========== Singleton Pattern 実装 ==========
+
+    private static BoardListCache instance = new BoardListCache();
+
+    public static BoardListCache getInstance() {
+        return instance;
+    }
+
+    private BoardListCache() {
+        this(MyBatisUtil::hasReplica);
+    }
+
+    /**
+     * テストではレプリカ有無の判定を差し替えて生成する
+     *
+     * @param replicaConfigured レプリカが設定されているか
+     */
+    BoardListCache(BooleanSupplier replicaConfigured) {
+        this.replicaConfigured = replicaConfigured;
+    }
+
+    // ========== 定数定義 ==========
+
+    /**
+     * 最大エントリ数
+     */
+    private static final int MAX_ENTRIES = 256;
+
+    /**
+     * レプリカが設定されているか（MyBatisUtil.hasReplica）
+     */
+    private final BooleanSupplier replicaConfigured;
+
+    // ========== キャッシュ本体 ==========
+
+    /**
+     * アクセス順のLinkedHashMap（LRU）
+     * - 上限を超えたら最も古くアクセスされたエントリを削除
+     */
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > MAX_ENTRIES) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * 無効化の世代番号
+     * - DB読み込み中に無効化が起きた場合、古い結果を登録しないために使用
+     */
+    private long generation = 0;
+
+    /**
+     * 最後に投稿の登録・更新・削除があった時刻（レプリカ使用時の登録判定用）
+     */
+    private long lastContentChangeMillis = 0;
+
+    // ========== 統計 ==========
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong replicaSkips = new AtomicLong();
+
+    /**
+     * キャッシュエントリ
+     */
+    private static class Entry {
+        final String category;          // null: 全カテゴリ
+        final boolean keywordSearch;    // キーワード検索の結果か
+        final Set<Long> boardIds;       // 表示中の投稿ID
+        final long lowestCoveredId;     // この値以上の投稿IDは表示範囲内
+        final BoardPageResponse page;
+
+        Entry(String category, boolean keywordSearch, BoardPageResponse page) {
+            this.category = category;
+            this.keywordSearch = keywordSearch;
+            this.page = page;
+            this.boardIds = new HashSet<>();
+            for (BoardListResponse item : page.getItems()) {
+                boardIds.add(item.getBoardId());
+            }
+            // 次ページがなければ全投稿が範囲内、あれば最終行以上が範囲内
+            this.lowestCoveredId = page.isHasNext() && page.getNextCursor() != null
+                    ? page.getNextCursor() : Long.MIN_VALUE;
+        }
+
+        /**
+         * 指定カテゴリの投稿がこのエントリの絞り込み範囲に含まれるか
+         */
+        boolean inScope(String postCategory) {
+            return category == null || category.equals(postCategory);
+        }
+    }
+
+    // ========== 参照・登録 ==========
+
+    /**
+     * キャッシュキー生成
+     */
+    private static String key(String category, String keyword) {
+        return (category == null ? "" : category) + "\u0000" + (keyword == null ? "" : keyword);
+    }
+
+    /**
+     * キャッシュ参照
+     *
+     * @param category カテゴリ（null: 全カテゴリ）
+     * @param keyword 検索キーワード（null: 検索なし）
+     * @return キャッシュされた1ページ目（なければnull）
+     */
+    public synchronized BoardPageResponse get(String category, String keyword) {
+        Entry entry = entries.get(key(category, keyword));
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.page;
+    }
+
+    /**
+     * 現在の世代番号を取得（DB読み込み前に呼ぶ）
+     */
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    /**
+     * キャッシュ登録
+     * - 読み込み開始後に無効化が発生していた場合は登録しない
+     *
+     * @param category カテゴリ（null: 全カテゴリ）
+     * @param keyword 検索キーワード（null: 検索なし）
+     * @param page 1ページ目の結果
+     * @param loadedGeneration 読み込み開始時の世代番号
+     */
+    public synchronized void put(String category, String keyword, BoardPageResponse page,
+                                 long loadedGeneration) {
+        if (loadedGeneration != generation) {
+            logger.debug("【ListCache】読み込み中に更新があったため登録しない");
+            return;
+        }
+        if (replicaConfigured.getAsBoolean()
+                && System.currentTimeMillis() - lastContentChangeMillis < ReadRouting.REPLICA_LAG_MILLIS) {
+            replicaSkips.incrementAndGet();
+            logger.debug("【ListCache】直近に更新があったため登録しない（レプリカ反映待ち）");
+            return;
+        }
+        entries.put(key(category, keyword), new Entry(category, keyword != null, page));
+    }
+
+    // ========== 無効化 ==========
+
+    /**
+     * 投稿登録時の無効化（破棄後にETagを進める）
+     *
+     * @param boardId 登録された投稿ID
+     * @param category 登録された投稿のカテゴリ
+     */
+    public synchronized void onInsert(long boardId, String category) {
+        lastContentChangeMillis = System.currentTimeMillis();
+        removeIf(e -> e.inScope(category));
+        BoardVersionStamp.touchBoard(boardId);
+    }
+
+    /**
+     * 投稿更新時の無効化（破棄後にETagを進める）
+     *
+     * @param boardId 投稿ID
+     * @param newCategory 更新後のカテゴリ
+     */
+    public synchronized void onUpdate(long boardId, String newCategory) {
+        lastContentChangeMillis = System.currentTimeMillis();
+        removeIf(e -> e.boardIds.contains(boardId)
+                || (e.inScope(newCategory) && (e.keywordSearch || boardId >= e.lowestCoveredId)));
+        BoardVersionStamp.touchBoard(boardId);
+    }
+
+    /**
+     * 投稿削除時の無効化（破棄後にETagを進める）
+     *
+     * @param boardId 投稿ID
+     */
+    public synchronized void onChange(long boardId) {
+        lastContentChangeMillis = System.currentTimeMillis();
+        removeIf(e -> e.boardIds.contains(boardId));
+        BoardVersionStamp.touchBoard(boardId);
+    }
+
+    /**
+     * コメントの追加・削除時の無効化（コメント数の表示が変わるため、破棄後にETagを進める）
+     *
+     * @param boardId コメント対象の投稿ID
+     */
+    public synchronized void onCommentChange(long boardId) {
+        removeIf(e -> e.boardIds.contains(boardId));
+        BoardVersionStamp.touchBoard(boardId);
+    }
+
+    /**
+     * 閲覧数の変更時の無効化（ViewCountBufferのDB反映後、破棄後に一覧のETagを進める）
+     * - 一覧画面は閲覧数を表示するため、ETagを進めないと古い閲覧数のまま304が返り続ける
+     * - 反映1回につき1度だけ進める（閲覧ごとには進めない）
+     *
+     * @param boardIds 閲覧数が変わった投稿ID
+     */
+    public synchronized void onViewCountChange(Collection<Long> boardIds) {
+        removeIf(e -> !Collections.disjoint(e.boardIds, boardIds));
+        BoardVersionStamp.touchList();
+    }
+
+    /**
+     * 投票数の変更時の無効化（VoteBufferのDB反映後、破棄後に一覧のETagを進める）
+     *
+     * @param boardIds 投票数が変わった投稿ID
+     */
+    public synchronized void onVoteCountChange(Collection<Long> boardIds) {
+        removeIf(e -> !Collections.disjoint(e.boardIds, boardIds));
+        BoardVersionStamp.touchList();
+    }
+
+    private void removeIf(Predicate<Entry> condition) {
+        generation++;
+        int removed = 0;
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (condition.test(it.next())) {
+                it.remove();
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            invalidations.addAndGet(removed);
+            logger.debug("【ListCache】無効化: " + removed + "件");
+        }
+    }
+
+    // ========== 統計 ==========
+
+    /**
+     * 統計情報を名前→値の形式で取得
+     */
+    public synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("listCache.size", (long) entries.size());
+        stats.put("listCache.maxSize", (long) MAX_ENTRIES);
+        stats.put("listCache.hits", hits.get());
+        stats.put("listCache.misses", misses.get());
+        stats.put("listCache.evictions", evictions.get());
+        stats.put("listCache.invalidations", invalidations.get());
+        stats.put("listCache.replicaSkips", replicaSkips.get());
+        return stats;
+    }
+}
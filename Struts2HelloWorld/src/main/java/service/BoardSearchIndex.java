@@ -0,0 +1,358 @@
+package service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import dao.BoardDao;
+import entity.BoardEntity;
+
+/**
+ * 【BoardSearchIndexクラス】
+ * タイトル・本文のメモリ内転置インデックス（全文検索用）
+ *
+ * 役割:
+ * - 起動時にboard_dataから全投稿を読み込みインデックスを構築
+ * - BoardServiceの登録・更新・削除に合わせて差分更新
+ * - キーワードのAND検索とスコア順の並び替え
+ *
+ * トークン化（N-gram方式）:
+ * - 日本語は単語の区切りがないため、文字単位のN-gramを使用
+ * - 1文字（unigram）と2文字（bigram）を登録する
+ *   例: "掲示板" → 掲, 示, 板, 掲示, 示板
+ * - 2文字以上の検索語はbigram、1文字の検索語はunigramで引く
+ * - NFKC正規化＋小文字化（全角英数字・大文字小文字の違いを吸収）
+ *
+ * スコア:
+ * - タイトル中の出現はTITLE_WEIGHT倍、本文は1倍で数える
+ * - 各トークンの出現数 × idf（珍しいトークンほど重い）の合計
+ *
+ * 設計パターン: Singleton Pattern
+ * - アプリケーション全体で1つのインデックスを共有
+ */
+public class BoardSearchIndex {
+
+    private static final Logger logger = LogManager.getLogger(BoardSearchIndex.class);
+
+    // ========== Singleton Pattern 実装 ==========
+
+    private static BoardSearchIndex instance = new BoardSearchIndex();
+
+    public static BoardSearchIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * テストでは個別のインスタンスを生成する（通常はgetInstanceを使用）
+     */
+    BoardSearchIndex() {
+    }
+
+    // ========== 定数定義 ==========
+
+    /**
+     * タイトル中の出現の重み（本文の何倍か）
+     */
+    private static final int TITLE_WEIGHT = 3;
+
+    // ========== インデックス本体 ==========
+
+    /**
+     * 転置インデックス: トークン → (投稿ID → 重み付き出現数)
+     */
+    private Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    /**
+     * 投稿ごとの情報: 投稿ID → (カテゴリ, 登録したトークン一覧)
+     * - 更新・削除時に古いトークンを取り除くために使用
+     */
+    private Map<Long, IndexedDoc> docs = new HashMap<>();
+
+    /**
+     * 読み取り（検索）は並行、書き込み（登録・更新・削除）は排他
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 構築完了フラグ（構築前・構築失敗時はSQL検索にフォールバック）
+     */
+    private volatile boolean ready = false;
+
+    /**
+     * インデックス登録済みの投稿情報
+     */
+    private static class IndexedDoc {
+        final String category;
+        final Set<String> tokens;
+
+        IndexedDoc(String category, Set<String> tokens) {
+            this.category = category;
+            this.tokens = tokens;
+        }
+    }
+
+    // ========== 構築 ==========
+
+    /**
+     * board_dataの全投稿からインデックスを再構築
+     * - 新しいインデックスを別に作成してから入れ替える（構築中も検索可能）
+     *
+     * @return 成功時true
+     */
+    public boolean rebuild() {
+        logger.info("【SearchIndex】インデックス構築開始");
+        long start = System.currentTimeMillis();
+
+        Map<String, Map<Long, Integer>> newPostings = new HashMap<>();
+        Map<Long, IndexedDoc> newDocs = new HashMap<>();
+
+        boolean success = BoardDao.scanForSearchIndex(context -> {
+            BoardEntity e = context.getResultObject();
+            addTo(newPostings, newDocs, e.getBoardId(), e.getCategory(), e.getTitle(), e.getContent());
+        });
+
+        if (!success) {
+            logger.error("【SearchIndex】インデックス構築失敗（SQL検索を使用）");
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            docs = newDocs;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("【SearchIndex】インデックス構築完了 - 投稿数: " + newDocs.size()
+                + ", トークン数: " + newPostings.size()
+                + ", 所要時間: " + (System.currentTimeMillis() - start) + "ms");
+        return true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ========== 差分更新 ==========
+
+    /**
+     * 投稿を登録（既に登録済みの場合は置き換え）
+     *
+     * @param boardId 投稿ID
+     * @param category カテゴリ
+     * @param title タイトル
+     * @param content 本文
+     */
+    public void add(long boardId, String category, String title, String content) {
+        lock.writeLock().lock();
+        try {
+            removeFrom(postings, docs, boardId);
+            addTo(postings, docs, boardId, category, title, content);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("【SearchIndex】登録 - boardId: " + boardId);
+    }
+
+    /**
+     * 投稿を削除
+     *
+     * @param boardId 投稿ID
+     */
+    public void remove(long boardId) {
+        lock.writeLock().lock();
+        try {
+            removeFrom(postings, docs, boardId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("【SearchIndex】削除 - boardId: " + boardId);
+    }
+
+    private static void addTo(Map<String, Map<Long, Integer>> postings, Map<Long, IndexedDoc> docs,
+                              long boardId, String category, String title, String content) {
+        Map<String, Integer> counts = new HashMap<>();
+        countTokens(title, TITLE_WEIGHT, counts);
+        countTokens(content, 1, counts);
+
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>())
+                    .put(boardId, entry.getValue());
+        }
+        docs.put(boardId, new IndexedDoc(category, counts.keySet()));
+    }
+
+    private static void removeFrom(Map<String, Map<Long, Integer>> postings, Map<Long, IndexedDoc> docs,
+                                   long boardId) {
+        IndexedDoc doc = docs.remove(boardId);
+        if (doc == null) {
+            return;
+        }
+        for (String token : doc.tokens) {
+            Map<Long, Integer> list = postings.get(token);
+            if (list != null) {
+                list.remove(boardId);
+                if (list.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    // ========== 検索 ==========
+
+    /**
+     * キーワード検索（AND検索・スコア順）
+     *
+     * - 空白区切りの各キーワードをすべて含む投稿を返す
+     * - スコアの高い順、同点の場合は新しい投稿順
+     *
+     * @param keyword 検索キーワード（空白区切りで複数指定可）
+     * @param category カテゴリ（null: 全カテゴリ）
+     * @return 該当する投稿IDのリスト（スコア順）
+     */
+    public List<Long> search(String keyword, String category) {
+        Set<String> queryTokens = queryTokens(keyword);
+        if (queryTokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            // 1. 各トークンのポスティングリストを取得（1つでも無ければ該当なし）
+            List<Map<Long, Integer>> lists = new ArrayList<>();
+            for (String token : queryTokens) {
+                Map<Long, Integer> list = postings.get(token);
+                if (list == null) {
+                    return new ArrayList<>();
+                }
+                lists.add(list);
+            }
+
+            // 2. 最も短いリストを基準に積集合を取る
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            double totalDocs = Math.max(docs.size(), 1);
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (Long boardId : lists.get(0).keySet()) {
+                if (category != null) {
+                    IndexedDoc doc = docs.get(boardId);
+                    if (doc == null || !category.equals(doc.category)) {
+                        continue;
+                    }
+                }
+                double score = 0;
+                boolean matched = true;
+                for (Map<Long, Integer> list : lists) {
+                    Integer tf = list.get(boardId);
+                    if (tf == null) {
+                        matched = false;
+                        break;
+                    }
+                    score += tf * Math.log(1 + totalDocs / list.size());
+                }
+                if (matched) {
+                    scores.put(boardId, score);
+                }
+            }
+
+            // 3. スコア順（同点は新しい投稿順）に並べる
+            List<Long> result = new ArrayList<>(scores.keySet());
+            result.sort((a, b) -> {
+                int cmp = Double.compare(scores.get(b), scores.get(a));
+                return cmp != 0 ? cmp : Long.compare(b, a);
+            });
+            return result;
+
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== トークン化 ==========
+
+    /**
+     * 検索キーワードをトークンに分解
+     * - 2文字以上の語はbigram、1文字の語はunigram
+     */
+    private static Set<String> queryTokens(String keyword) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (keyword == null) {
+            return tokens;
+        }
+        for (String term : normalize(keyword).split("\\s+")) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            int[] cps = term.codePoints().toArray();
+            if (cps.length == 1) {
+                tokens.add(new String(cps, 0, 1));
+            } else {
+                for (int i = 0; i + 1 < cps.length; i++) {
+                    tokens.add(new String(cps, i, 2));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * テキスト中のunigram・bigramを数えてcountsに加算
+     * - 空白をまたぐbigramは作らない
+     */
+    private static void countTokens(String text, int weight, Map<String, Integer> counts) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        for (String term : normalize(text).split("\\s+")) {
+            int[] cps = term.codePoints().toArray();
+            for (int i = 0; i < cps.length; i++) {
+                counts.merge(new String(cps, i, 1), weight, Integer::sum);
+                if (i + 1 < cps.length) {
+                    counts.merge(new String(cps, i, 2), weight, Integer::sum);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * 検索結果IDの並び順に合わせて、一覧用データを並べ替える
+     *
+     * @param orderedIds 並び順の基準となるIDリスト
+     * @param rows DBから取得したデータ（順不同）
+     * @param idOf 行からIDを取り出す関数
+     * @return orderedIdsの順に並べたデータ（DBに無いIDは除外）
+     */
+    public static <T> List<T> reorder(List<Long> orderedIds, List<T> rows,
+                                      Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T row : rows) {
+            byId.put(idOf.apply(row), row);
+        }
+        List<T> result = new ArrayList<>(orderedIds.size());
+        for (Long id : orderedIds) {
+            T row = byId.get(id);
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+}
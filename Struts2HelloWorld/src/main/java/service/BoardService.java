@@ -1,20 +1,30 @@
 package service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import dao.BoardDao;
+import dao.CommentCache;
+import dao.BoardVersionStamp;
 import dto.request.BoardCreateRequest;
 import dto.request.BoardUpdateRequest;
 import dto.response.BoardDetailResponse;
 import dto.response.BoardListResponse;
+import dto.response.BoardPageResponse;
+import dto.response.CommentPageResponse;
 import dto.response.CsvImportResponse;
+import entity.BoardDetailRow;
 import entity.BoardEntity;
+import entity.BoardWriteResult;
+import model.CommentData;
+import util.MyBatisUtil;
 
 /**
  * 【BoardServiceクラス】
@@ -28,98 +38,450 @@ public class BoardService {
     
     private static final Logger logger = LogManager.getLogger(BoardService.class);
     
+    private final BoardSearchIndex searchIndex = BoardSearchIndex.getInstance();
+    
+    private final BoardListCache listCache = BoardListCache.getInstance();
+    
+    private final BoardCountCache countCache = BoardCountCache.getInstance();
+    
+    private final TitleTrie titleTrie = TitleTrie.getInstance();
+    
+    private final ViewCountBuffer viewCountBuffer = ViewCountBuffer.getInstance();
+    
+    private final ViewDeduplicator viewDeduplicator = ViewDeduplicator.getInstance();
+    
+    private final VoteBuffer voteBuffer = VoteBuffer.getInstance();
+    
+    private final TrendingTracker trendingTracker = TrendingTracker.getInstance();
+    
+    /**
+     * 一覧1ページあたりの表示件数
+     */
+    public static final int PAGE_SIZE = 20;
+    
     /**
-     * 掲示板一覧を取得（検索・フィルタリング付き）
+     * 掲示板一覧を1ページ分取得（検索・フィルタリング付き）
      * 
      * @param category カテゴリフィルタ（nullの場合は全件取得）
      * @param searchKeyword 検索キーワード（nullの場合は検索なし）
-     * @return 掲示板データリスト
+     * @param afterId 次ページ取得時のカーソル（この投稿IDより古いデータ、null可）
+     * @param beforeId 前ページ取得時のカーソル（この投稿IDより新しいデータ、null可）
+     * @return 1ページ分の掲示板データとページング情報
      * 
-     * 【Actionから移行したロジック】
-     * - データ取得
-     * - カテゴリフィルタリング
-     * - タイトル検索
+     * 【キーセットページング】
+     * - 以前: BoardDao.findAll()で全件取得 → 全件をDTO変換
+     * - 現在: board_idをカーソルにして PAGE_SIZE + 1 件だけ取得
+     *         （一覧用の列のみをSQLから直接DTOにマッピング）
+     * - 1件多く取得し、次（前）ページの有無を判定する
+     * 
+     * 【絞り込み】
+     * - 以前: 全件取得後にJavaのStreamでタイトル検索（カテゴリは未対応）
+     * - 現在: カテゴリはSQLのWHERE句で評価
+     * - キーワード検索はメモリ内の全文検索インデックス（タイトル・本文）を使用
+     *   （インデックス未構築の場合はSQLのタイトル部分一致で検索）
+     * 
+     * 【1ページ目のキャッシュ】
+     * - カーソルなし（1ページ目）はBoardListCacheから返す
+     * - 登録・更新・削除・閲覧数増加時に影響するエントリのみ破棄される
      */
-    public List<BoardListResponse> getBoardList(String category, String searchKeyword) {
-        logger.info("【Service】掲示板一覧取得開始");
+    public BoardPageResponse getBoardList(String category, String searchKeyword,
+                                          Long afterId, Long beforeId) {
+        logger.info("【Service】掲示板一覧取得開始 - afterId: " + afterId + ", beforeId: " + beforeId);
         
         try {
-            // 1. 全データ取得
-            List<BoardEntity> entities = BoardDao.findAll();
+            // 絞り込み条件の正規化（空文字は条件なし）
+            String categoryFilter = (category != null && !category.trim().isEmpty())
+                    ? category.trim() : null;
+            String keyword = (searchKeyword != null && !searchKeyword.trim().isEmpty())
+                    ? searchKeyword.trim() : null;
             
-            if (entities == null || entities.isEmpty()) {
-                logger.warn("【Service】照会された掲示板がありません");
-                return new ArrayList<>();
+            if (afterId != null || beforeId != null) {
+                return loadBoardList(categoryFilter, keyword, afterId, beforeId);
             }
             
-            // 2. カテゴリフィルタリング（将来の機能用 - 現在はコメントアウト）
-            /*
-            if (category != null && !category.trim().isEmpty()) {
-                logger.debug("【Service】カテゴリフィルタ適用: " + category);
-                entities = entities.stream()
-                    .filter(e -> category.equals(e.getCategory()))
-                    .collect(Collectors.toList());
-            }
-            */
-            
-            // 3. タイトル検索フィルタリング
-            if (searchKeyword != null && !searchKeyword.trim().isEmpty()) {
-                logger.debug("【Service】検索キーワード適用: " + searchKeyword);
-                String keyword = searchKeyword.toLowerCase();
-                entities = entities.stream()
-                    .filter(e -> e.getTitle() != null && 
-                                e.getTitle().toLowerCase().contains(keyword))
-                    .collect(Collectors.toList());
-                logger.debug("【Service】検索結果: " + entities.size() + "件");
+            // 1ページ目はキャッシュを優先
+            BoardPageResponse cached = listCache.get(categoryFilter, keyword);
+            if (cached != null) {
+                logger.debug("【Service】一覧キャッシュヒット");
+                return cached;
             }
             
-            // 4. Entity → ListResponse DTO変換
-            List<BoardListResponse> responses = entities.stream() // Listをstreamに変換
-                    .map(BoardListResponse::from) 
-                    // 各EntityをResponseに変換
-                    // BoardListResponse.from(entity)メソッド呼び出し
-                    .collect(Collectors.toList()); // Streamを再びListに変換
-                // Stream APIとは？コレクション(List、Setなど)を関数型で処理する方法
-                logger.debug("【Service】掲示板一覧取得完了: " + responses.size() + "件");
-                return responses;
+            long generation = listCache.currentGeneration();
+            BoardPageResponse page = loadBoardList(categoryFilter, keyword, null, null);
+            // 0件（DBエラー時を含む）はキャッシュしない
+            if (!page.getItems().isEmpty()) {
+                listCache.put(categoryFilter, keyword, page, generation);
+            }
+            return page;
             
         } catch (Exception e) {
             logger.error("【Service】一覧取得エラー: " + e.getMessage(), e);
+            return new BoardPageResponse();
+        }
+    }
+    
+    /**
+     * 掲示板一覧の1ページ分をDB（または全文検索インデックス）から取得
+     * 
+     * @param categoryFilter 正規化済みカテゴリ（null可）
+     * @param keyword 正規化済み検索キーワード（null可）
+     * @param afterId 次ページ用カーソル（null可）
+     * @param beforeId 前ページ用カーソル（null可）
+     * @return 1ページ分の掲示板データとページング情報
+     */
+    private BoardPageResponse loadBoardList(String categoryFilter, String keyword,
+                                            Long afterId, Long beforeId) {
+        // 前ページ方向かどうか（afterIdが優先）
+        boolean backward = afterId == null && beforeId != null;
+        
+        // キーワード検索は全文検索インデックスで処理
+        if (keyword != null && searchIndex.isReady()) {
+            return searchBoardList(categoryFilter, keyword, afterId, beforeId);
+        }
+        
+        // 1. 絞り込み済みの1ページ分＋1件をSQLで取得（一覧用の列のみ）
+        List<BoardListResponse> responses = BoardDao.findPage(
+                categoryFilter,
+                keyword,
+                backward ? null : afterId,
+                backward ? beforeId : null,
+                PAGE_SIZE + 1);
+        
+        // 2. 次（前）ページ有無の判定
+        boolean hasMore = responses != null && responses.size() > PAGE_SIZE;
+        if (backward && !hasMore) {
+            // 先頭まで戻った場合は最新ページを表示（件数が欠けたページを作らない）
+            return getBoardList(categoryFilter, keyword, null, null);
+        }
+        
+        if (responses == null || responses.isEmpty()) {
+            logger.warn("【Service】照会された掲示板がありません");
+            return new BoardPageResponse(new ArrayList<>(), false, false);
+        }
+        
+        if (hasMore) {
+            responses = responses.subList(0, PAGE_SIZE);
+        }
+        if (backward) {
+            // 前ページは古い順で取得されるため、新しい順に戻す
+            responses = new ArrayList<>(responses);
+            Collections.reverse(responses);
+        }
+        
+        // 3. ページング情報付きで返却
+        BoardPageResponse page = backward
+                ? new BoardPageResponse(responses, true, true)
+                : new BoardPageResponse(responses, hasMore, afterId != null);
+        logger.debug("【Service】掲示板一覧取得完了: " + page);
+        return page;
+    }
+    
+    /**
+     * 全文検索結果（スコア順のIDリスト）内で、カーソルから1ページ分の範囲を求める
+     * 
+     * @param rankedIds スコア順の投稿IDリスト
+     * @param afterId 次ページ用カーソル（null可）
+     * @param beforeId 前ページ用カーソル（null可）
+     * @return {開始位置, 終了位置（含まない）}
+     */
+    private static int[] searchPageRange(List<Long> rankedIds, Long afterId, Long beforeId) {
+        int from = 0;
+        if (afterId != null) {
+            from = rankedIds.indexOf(afterId) + 1;
+        } else if (beforeId != null) {
+            from = Math.max(0, rankedIds.indexOf(beforeId) - PAGE_SIZE);
+        }
+        int to = Math.min(from + PAGE_SIZE, rankedIds.size());
+        return new int[] { from, to };
+    }
+    
+    /**
+     * 掲示板一覧を1ページ分、1件ずつ出力先へ渡す（JSON API用）
+     * 
+     * getBoardListと同じ絞り込み・カーソル指定だが、一覧データのListは作らず
+     * ResultSetから読んだ行をそのままsinkへ渡す
+     * 
+     * @param category カテゴリフィルタ（null可）
+     * @param searchKeyword 検索キーワード（null可）
+     * @param afterId 次ページ用カーソル（null可）
+     * @param beforeId 前ページ用カーソル（null可）
+     * @param sink 1件ごとに呼ばれる出力先（新しい順・検索時はスコア順）
+     * @return ページング情報（itemsは空）、DBエラー時null
+     * 
+     * 【次・前ページの判定】
+     * - 通常: PAGE_SIZE + 1 件目を読んだら次ページあり（その行は出力しない）
+     * - 前ページ: 新しい順に並べ直して PAGE_SIZE 件を出力し、
+     *   満杯の場合のみ、さらに新しい投稿の有無をEXISTSで確認
+     *   （先頭に達した場合は件数の少ないページになる）
+     */
+    public BoardPageResponse streamBoardList(String category, String searchKeyword,
+                                             Long afterId, Long beforeId,
+                                             Consumer<BoardListResponse> sink) {
+        logger.info("【Service】一覧ストリーミング開始 - afterId: " + afterId + ", beforeId: " + beforeId);
+        
+        String categoryFilter = (category != null && !category.trim().isEmpty())
+                ? category.trim() : null;
+        String keyword = (searchKeyword != null && !searchKeyword.trim().isEmpty())
+                ? searchKeyword.trim() : null;
+        boolean backward = afterId == null && beforeId != null;
+        PageStream stream = new PageStream(sink);
+        
+        // キーワード検索は全文検索インデックスの順位順に出力
+        if (keyword != null && searchIndex.isReady()) {
+            List<Long> rankedIds = searchIndex.search(keyword, categoryFilter);
+            int[] range = searchPageRange(rankedIds, afterId, beforeId);
+            List<Long> pageIds = rankedIds.subList(range[0], range[1]);
+            if (!pageIds.isEmpty()
+                    && !BoardDao.streamListByIds(pageIds, context -> stream.accept(context.getResultObject()))) {
+                return null;
+            }
+            return new BoardPageResponse(new ArrayList<>(), range[1] < rankedIds.size(), range[0] > 0,
+                    stream.firstId, stream.lastId);
+        }
+        
+        boolean success = BoardDao.streamPage(
+                categoryFilter,
+                keyword,
+                backward ? null : afterId,
+                backward ? beforeId : null,
+                backward ? PAGE_SIZE : PAGE_SIZE + 1,
+                context -> stream.accept(context.getResultObject()));
+        if (!success) {
+            return null;
+        }
+        
+        if (backward) {
+            boolean hasPrev = stream.count == PAGE_SIZE
+                    && BoardDao.existsNewer(categoryFilter, keyword, stream.firstId);
+            return new BoardPageResponse(new ArrayList<>(), stream.lastId != null, hasPrev,
+                    stream.firstId, stream.lastId);
+        }
+        return new BoardPageResponse(new ArrayList<>(), stream.count > PAGE_SIZE, afterId != null,
+                stream.firstId, stream.lastId);
+    }
+    
+    /**
+     * ストリーミング出力中の状態（件数・先頭/末尾の投稿ID）
+     * - PAGE_SIZE件を超えた行は次ページ判定用のため出力しない
+     */
+    private static class PageStream {
+        private final Consumer<BoardListResponse> sink;
+        private int count = 0;
+        private Long firstId;
+        private Long lastId;
+        
+        PageStream(Consumer<BoardListResponse> sink) {
+            this.sink = sink;
+        }
+        
+        void accept(BoardListResponse row) {
+            count++;
+            if (count > PAGE_SIZE) {
+                return;
+            }
+            sink.accept(row);
+            if (firstId == null) {
+                firstId = row.getBoardId();
+            }
+            lastId = row.getBoardId();
+        }
+    }
+    
+    /**
+     * タイトルの入力補完候補を取得（DBは参照しない）
+     * 
+     * @param prefix 入力中の文字列
+     * @param limit 最大件数（1〜TitleTrie.MAX_SUGGESTIONS）
+     * @return 前方一致するタイトル（新しい投稿順）
+     */
+    public List<TitleTrie.Suggestion> suggestTitles(String prefix, int limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        int max = Math.max(1, Math.min(limit, TitleTrie.MAX_SUGGESTIONS));
+        return titleTrie.suggest(prefix, max);
+    }
+    
+    /**
+     * 投稿件数を取得（DBへのCOUNTは行わず、件数キャッシュを参照）
+     * 
+     * @param category カテゴリ（null・空文字: 全カテゴリ）
+     * @return 論理削除を除いた投稿件数
+     */
+    public long getPostCount(String category) {
+        return countCache.getCount(category != null ? category.trim() : null);
+    }
+    
+    /**
+     * 一覧の総ページ数を取得（件数キャッシュを参照）
+     * 
+     * @param category カテゴリ（null・空文字: 全カテゴリ）
+     * @return 総ページ数（0件の場合も1）
+     */
+    public int getPageCount(String category) {
+        return countCache.getPageCount(category != null ? category.trim() : null, PAGE_SIZE);
+    }
+    
+    /**
+     * 全文検索インデックスによるキーワード検索（1ページ分）
+     * 
+     * 検索結果はスコア順のため、board_idの大小ではなく
+     * 「検索結果リスト内でカーソルの投稿IDの次（前）」をページとする
+     * 
+     * @param category カテゴリ（null可）
+     * @param keyword 検索キーワード
+     * @param afterId 次ページ用カーソル（null可）
+     * @param beforeId 前ページ用カーソル（null可）
+     * @return 1ページ分の掲示板データとページング情報
+     */
+    private BoardPageResponse searchBoardList(String category, String keyword,
+                                              Long afterId, Long beforeId) {
+        // 1. インデックスからスコア順の投稿ID一覧を取得
+        List<Long> rankedIds = searchIndex.search(keyword, category);
+        logger.debug("【Service】全文検索結果: " + rankedIds.size() + "件");
+        
+        // 2. カーソル位置からページ範囲を決定（カーソルが見つからない場合は先頭）
+        int[] range = searchPageRange(rankedIds, afterId, beforeId);
+        int from = range[0];
+        int to = range[1];
+        List<Long> pageIds = rankedIds.subList(from, to);
+        
+        if (pageIds.isEmpty()) {
+            return new BoardPageResponse(new ArrayList<>(), false, false);
+        }
+        
+        // 3. ページ分の一覧用データを1回のSQLで取得し、スコア順に並べ直す
+        List<BoardListResponse> rows = BoardDao.findListByIds(pageIds);
+        if (rows == null) {
+            rows = new ArrayList<>();
+        }
+        List<BoardListResponse> responses =
+                BoardSearchIndex.reorder(pageIds, rows, BoardListResponse::getBoardId);
+        
+        return new BoardPageResponse(responses, to < rankedIds.size(), from > 0,
+                pageIds.get(0), pageIds.get(pageIds.size() - 1));
+    }
+    
+    /**
+     * トレンド（直近の閲覧・コメントが多い投稿）一覧を取得
+     * 
+     * @param period 集計期間（1時間・1日）
+     * @param limit 最大件数
+     * @return 一覧用Response DTOリスト（スコアの高い順）
+     * 
+     * 【DBアクセス】
+     * - 順位はTrendingTrackerがメモリ上で集計（ORDER BY view_countは発行しない）
+     * - 上位の投稿IDの一覧用データをfindListByIdsの1回で取得
+     */
+    public List<BoardListResponse> getTrendingList(TrendingTracker.Period period, int limit) {
+        logger.info("【Service】トレンド取得開始 - 期間: " + period + ", 件数: " + limit);
+        
+        try {
+            List<Long> rankedIds = trendingTracker.getTopIds(period, limit);
+            if (rankedIds.isEmpty()) {
+                return new ArrayList<>();
+            }
+            
+            // 削除済みの投稿はfindListByIdsで除外される
+            List<BoardListResponse> rows = BoardDao.findListByIds(rankedIds);
+            if (rows == null) {
+                return new ArrayList<>();
+            }
+            return BoardSearchIndex.reorder(rankedIds, rows, BoardListResponse::getBoardId);
+            
+        } catch (Exception e) {
+            logger.error("【Service】トレンド取得エラー: " + e.getMessage(), e);
             return new ArrayList<>();
         }
     }
     
     /**
-     * 掲示板詳細を取得
+     * 掲示板詳細を取得（コメント含む）
      * 
      * @param boardId 掲示板ID
+     * @param clientIp 閲覧者のIPアドレス（再表示の判定用）
      * @return 掲示板詳細Response DTO（見つからない場合null）
      * 
      * 処理フロー:
-     * 1. DAOからEntity照会
-     * 2. 閲覧数増加
-     * 3. Entity → DetailResponse DTOへ変換
+     * 1. コメントがキャッシュ済み（CommentCache）の場合: 投稿のみBoardDao.findByIdで取得
+     *    （BoardEntityCacheにあればDBアクセスなし）
+     *    キャッシュなしの場合: DAOから投稿とコメントを1回のSQLで照会し、コメントをキャッシュに登録
+     * 2. 閲覧数増加（ViewCountBufferに加算、DBアクセスなし）
+     *    同じIPアドレスからの再表示は一定時間数えない（ViewDeduplicator）
+     * 3. Entity → DetailResponse DTOへ変換、コメントを設定
      * 4. DTOを返却
+     * 
+     * 【DBアクセス】
+     * - 以前: findById・incrementViewCount・getCommentsByBoardIdで
+     *         3回のコネクション取得・往復
+     * - 現在: findDetailRowsの1回のみ（投稿・コメントともキャッシュ済みの場合は0回）
      */
-    public BoardDetailResponse getBoardDetail(long boardId) {
+    public BoardDetailResponse getBoardDetail(long boardId, String clientIp) {
         logger.info("【Service】詳細取得開始 - boardId: " + boardId);
         
         try {
-            // 1. DAOからEntity照会
-            BoardEntity entity = BoardDao.findById(boardId);
+            // 1. 投稿とコメントを取得
+            BoardEntity entity;
+            List<CommentData> comments;
+            Long commentNextCursor;
+            
+            CommentCache.Snapshot cached = CommentCache.get(boardId);
+            if (cached != null) {
+                // コメントはキャッシュ済み: 投稿のみ取得（Entityキャッシュ経由）
+                entity = BoardDao.findById(boardId);
+                comments = cached.getComments();
+                commentNextCursor = cached.getNextCursor();
+            } else {
+                // 投稿とコメントを1回のSQLで照会（投稿 LEFT JOIN コメント）
+                long generation = CommentCache.currentGeneration();
+                List<BoardDetailRow> rows = BoardDao.findDetailRows(boardId, CommentPageResponse.PAGE_SIZE);
+                entity = (rows == null || rows.isEmpty()) ? null : rows.get(0).toEntity();
+                
+                // コメントは最初の1ページ分の親コメント（返信は件数のみ）
+                List<CommentData> flat = new ArrayList<>();
+                if (rows != null) {
+                    for (BoardDetailRow row : rows) {
+                        if (row.hasComment()) {
+                            flat.add(row.toComment());
+                        }
+                    }
+                }
+                CommentPageResponse commentPage = CommentPageResponse.of(flat, CommentPageResponse.PAGE_SIZE);
+                comments = commentPage.getItems();
+                commentNextCursor = commentPage.getNextCursor();
+                if (entity != null) {
+                    CommentCache.put(boardId, comments, commentNextCursor, generation,
+                            MyBatisUtil.hasReplica());
+                }
+            }
             
             if (entity == null) {
                 logger.error("【Service】掲示板が見つかりません - boardId: " + boardId);
                 return null;
             }
             
-            // 2. 閲覧数増加
-            BoardDao.incrementViewCount(boardId);
+            // 2. 閲覧数増加（メモリに加算し、DBへは定期的にまとめて反映）
+            //    同じ閲覧者の再表示はメモリ上で判定して数えない
+            long pendingViews = viewCountBuffer.getPending(boardId);
+            if (viewDeduplicator.recordView(boardId, clientIp)) {
+                viewCountBuffer.increment(boardId);
+                trendingTracker.recordView(boardId);
+            }
             
-            // 3. Entity -> DetailResponse DTO変換
+            // 3. Entity -> DetailResponse DTO変換、コメント設定
+            //    表示する閲覧数・投票数にはDB未反映分を含める
+            //    （EntityはBoardEntityCacheと共有の場合があるため、DTO側に設定）
             BoardDetailResponse response = BoardDetailResponse.from(entity);
+            response.setViewCount((int) (entity.getViewCount() + pendingViews));
+            response.setLikeCount((int) (entity.getLikeCount() + voteBuffer.getPendingLikes(boardId)));
+            response.setDislikeCount((int) (entity.getDislikeCount() + voteBuffer.getPendingDislikes(boardId)));
+            response.setComments(comments);
+            response.setCommentNextCursor(commentNextCursor);
+            response.setCommentCount(entity.getCommentCount());
             
-            logger.debug("【Service】掲示板詳細取得完了 - boardId: " + boardId);
+            logger.debug("【Service】掲示板詳細取得完了 - boardId: " + boardId
+                    + ", コメント数: " + response.getCommentCount()
+                    + ", コメントキャッシュ: " + (cached != null ? "HIT" : "MISS"));
             return response;
             
         } catch (Exception e) {
@@ -139,6 +501,7 @@ public class BoardService {
      * 1. 入力値検証
      * 2. Request DTO -> DAOメソッドパラメータへ変換
      * 3. DAOを通じてDB保存
+     * 4. 全文検索インデックスに登録
      */
     public boolean createBoard(BoardCreateRequest request) {
         
@@ -154,7 +517,7 @@ public class BoardService {
             }
             
             // 2. DAOを通じてDB保存
-            boolean success = BoardDao.insert(
+            long boardId = BoardDao.insert(
                 request.getCategory(),
                 request.getTitle(),
                 request.getContent(),
@@ -164,9 +527,16 @@ public class BoardService {
                 request.getFilePath(),
                 request.getFileSize()
             );
+            boolean success = boardId > 0;
             
             if (success) {
-                logger.debug("【Service】掲示板生成成功 - writer: " + request.getWriter());
+                // 3. 全文検索インデックスに登録
+                searchIndex.add(boardId, request.getCategory(),
+                        request.getTitle(), request.getContent());
+                listCache.onInsert(boardId, request.getCategory());
+                countCache.onInsert(request.getCategory());
+                titleTrie.add(boardId, request.getTitle());
+                logger.debug("【Service】掲示板生成成功 - boardId: " + boardId);
             } else {
                 logger.error("【Service】掲示板生成失敗 - writer: " + request.getWriter());
             }
@@ -183,16 +553,16 @@ public class BoardService {
     /**
      * 掲示板を更新
      * 
-     * @param request 掲示板修正Request DTO
-     * @return 成功時true、失敗時false
+     * @param request 掲示板修正Request DTO（versionは編集フォームで読み込んだ値）
+     * @return 更新結果（SUCCESS / NOT_FOUND / CONFLICT / ERROR）
      * 
      * 処理フロー:
      * 1. 入力値検証
-     * 2. 既存掲示板存在確認
-     * 3. Request DTO → DAOメソッドパラメータへ変換
-     * 4. DAOを通じてDB更新
+     * 2. Request DTO → DAOメソッドパラメータへ変換
+     * 3. DAOを通じてDB更新（存在確認・バージョン確認・更新を1文で実行）
+     * 4. 成功時、メモリ上の索引・キャッシュを更新
      */
-    public boolean updateBoard(BoardUpdateRequest request) {
+    public BoardWriteResult.Status updateBoard(BoardUpdateRequest request) {
     	
     	logger.info("【Service】掲示板修正開始 - boardId: " + request.getBoardId());
         
@@ -200,20 +570,13 @@ public class BoardService {
             // 1. 入力値検証
             if (!request.isValid()) {
                 logger.error("【Service】入力値検証失敗");
-                return false;
+                return BoardWriteResult.Status.ERROR;
             }
             
-            // 2. 既存掲示板存在確認
-            BoardEntity existingEntity = BoardDao.findById(request.getBoardId());
-            if (existingEntity == null) {
-                logger.error("【Service】修正する掲示板が見つかりません - boardId: " 
-                           + request.getBoardId());
-                return false;
-            }
-            
-            // 3. DAOを通じてDB更新
-            boolean success = BoardDao.update(
+            // 2. DAOを通じてDB更新（事前のfindByIdは不要）
+            BoardWriteResult result = BoardDao.update(
                 request.getBoardId(),
+                request.getVersion(),
                 request.getCategory(),
                 request.getTitle(),
                 request.getContent(),
@@ -223,17 +586,25 @@ public class BoardService {
                 request.getFileSize()
             );
             
-            if (success) {
-                logger.debug("【Service】掲示板修正成功 - boardId: " + request.getBoardId());
+            if (result.getStatus() == BoardWriteResult.Status.SUCCESS) {
+                // 全文検索インデックスを更新
+                searchIndex.add(request.getBoardId(), request.getCategory(),
+                        request.getTitle(), request.getContent());
+                listCache.onUpdate(request.getBoardId(), request.getCategory());
+                countCache.onCategoryChange(result.getPreviousCategory(), request.getCategory());
+                titleTrie.add(request.getBoardId(), request.getTitle());
+                logger.debug("【Service】掲示板修正成功 - boardId: " + request.getBoardId()
+                        + ", version: " + result.getNewVersion());
             } else {
-                logger.error("【Service】掲示板修正失敗 - boardId: " + request.getBoardId());
+                logger.error("【Service】掲示板修正失敗 - boardId: " + request.getBoardId()
+                        + ", 結果: " + result.getStatus());
             }
             
-            return success;
+            return result.getStatus();
             
         } catch (Exception e) {
             logger.error("【Service】掲示板修正エラー: " + e.getMessage(), e);
-            return false;
+            return BoardWriteResult.Status.ERROR;
         }
 
     }
@@ -242,37 +613,70 @@ public class BoardService {
      * 掲示板を削除（論理削除）
      * 
      * @param boardId 掲示板ID
-     * @return 成功時true、失敗時false
+     * @param version 画面で読み込んだバージョン（nullの場合は確認しない）
+     * @return 削除結果（SUCCESS / NOT_FOUND / CONFLICT / ERROR）
      */
-    public boolean deleteBoard(long boardId) {
+    public BoardWriteResult.Status deleteBoard(long boardId, Integer version) {
         logger.info("【Service】掲示板削除開始 - boardId: " + boardId);
         
         try {
-            // 1. 掲示板存在確認
-            BoardEntity entity = BoardDao.findById(boardId);
-            if (entity == null) {
-                logger.error("【Service】削除する掲示板が見つかりません - boardId: " + boardId);
-                return false;
-            }
+            // DAOを通じて論理削除（存在確認・バージョン確認・削除を1文で実行）
+            BoardWriteResult result = BoardDao.delete(boardId, version);
             
-            // 2. DAOを通じて論理削除
-            boolean success = BoardDao.delete(boardId);
-            
-            if (success) {
+            if (result.getStatus() == BoardWriteResult.Status.SUCCESS) {
+                // 全文検索インデックスから削除
+                searchIndex.remove(boardId);
+                listCache.onChange(boardId);
+                countCache.onDelete(result.getPreviousCategory());
+                titleTrie.remove(boardId);
                 logger.info("【Service】掲示板削除成功 - boardId: " + boardId);
             } else {
-                logger.error("【Service】掲示板削除失敗 - boardId: " + boardId);
+                logger.error("【Service】掲示板削除失敗 - boardId: " + boardId
+                        + ", 結果: " + result.getStatus());
             }
             
-            return success;
+            return result.getStatus();
             
         } catch (Exception e) {
             logger.error("【Service】掲示板削除エラー: " + e.getMessage(), e);
-            return false;
+            return BoardWriteResult.Status.ERROR;
         }
 
     }
     
+    /**
+     * いいね・よくないねの投票
+     * 
+     * @param boardId 掲示板ID
+     * @param clientIp 投票者のIPアドレス（重複投票の判定用）
+     * @param like いいねの場合true、よくないねの場合false
+     * @return 受け付けた場合true（投稿がない・重複投票の場合false）
+     * 
+     * 【DBアクセス】
+     * - なし（投票数はVoteBufferに加算し、DBへは定期的にまとめて反映）
+     * - 投稿の存在確認もしない（存在しない投稿IDへの加算は一括UPDATEで対象行がなく無視される）
+     *   → 投票ごとの照会でBoardEntityCacheのロックを取らない
+     */
+    public boolean vote(long boardId, String clientIp, boolean like) {
+        logger.debug("【Service】投票開始 - boardId: " + boardId + ", like: " + like);
+        
+        try {
+            if (!voteBuffer.vote(boardId, clientIp, like)) {
+                logger.debug("【Service】重複投票のため無視 - boardId: " + boardId);
+                return false;
+            }
+            
+            // 詳細画面のETagのみ更新（投票直後の表示が304にならないように）
+            // 一覧は未反映の投票を表示しないため、一覧のETagはVoteBufferの反映時に進める
+            BoardVersionStamp.touchPost(boardId);
+            return true;
+            
+        } catch (Exception e) {
+            logger.error("【Service】投票エラー: " + e.getMessage(), e);
+            return false;
+        }
+    }
+    
     /**
      * 編集フォーム用のデータ取得
      * 
@@ -306,6 +710,40 @@ public class BoardService {
         }
     }
     
+    /**
+     * 複数の掲示板をまとめて取得（関連投稿・キャッシュの事前読み込みなど用）
+     * 
+     * @param boardIds 掲示板IDのリスト
+     * @return 掲示板詳細Response DTOリスト（指定順、見つからない投稿は含まない）
+     * 
+     * 【DBアクセス】
+     * - BoardDao.findByIdsで、キャッシュにない投稿のみを1回のSQLで取得
+     * - 閲覧数は増やさない
+     */
+    public List<BoardDetailResponse> getBoardsByIds(Collection<Long> boardIds) {
+        logger.info("【Service】複数投稿取得開始 - 件数: " + boardIds.size());
+        
+        List<BoardDetailResponse> responses = new ArrayList<>();
+        if (boardIds.isEmpty()) {
+            return responses;
+        }
+        
+        try {
+            List<BoardEntity> entities = BoardDao.findByIds(boardIds);
+            if (entities == null) {
+                return responses;
+            }
+            for (BoardEntity entity : entities) {
+                responses.add(BoardDetailResponse.from(entity));
+            }
+            return responses;
+            
+        } catch (Exception e) {
+            logger.error("【Service】複数投稿取得エラー: " + e.getMessage(), e);
+            return responses;
+        }
+    }
+    
     /**
      * 全掲示板データをEntity形式で取得（CSV出力用）
      * 
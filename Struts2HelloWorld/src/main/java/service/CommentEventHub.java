@@ -0,0 +1,259 @@
+package service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import model.CommentData;
+import util.CommentJson;
+import util.JsonWriter;
+
+/**
+ * 【CommentEventHubクラス】
+ * コメント追加を、その投稿の詳細画面を開いている閲覧者へ配信する（アプリ内のPublish/Subscribe）
+ *
+ * 役割:
+ * - CommentStreamServlet（Server-Sent Events）の接続を投稿IDごとに登録
+ * - CommentServiceのコメント登録後にpublishされたコメントを、同じ投稿の接続へ送信
+ *   （他の閲覧者はページを再読み込みせずに新しいコメントだけを受け取る）
+ * - HEARTBEAT_SECONDSごとに空のイベントを送り、切断済みの接続を検出・削除
+ *
+ * 注意:
+ * - 配信は専用スレッド（comment-events）で行い、コメント投稿のリクエストを待たせない
+ * - 配信スレッドは各接続の送信キューへ追加するだけで、ソケットへは書き込まない
+ *   （書き込みは接続側の非ブロッキングI/O。遅い閲覧者がいても他の配信は止まらない）
+ * - 送信キューがあふれた接続（読み取りが止まっている閲覧者）は切断する
+ * - 同時接続数はMAX_SUBSCRIBERSまで（超えた接続は受け付けない）
+ * - 1台のアプリ内のみの配信（複数台構成の場合は各サーバーで投稿されたコメントのみ）
+ *
+ * 設計パターン: Singleton Pattern
+ */
+public class CommentEventHub {
+
+    private static final Logger logger = LogManager.getLogger(CommentEventHub.class);
+
+    // ========== Singleton Pattern 実装 ==========
+
+    private static CommentEventHub instance = new CommentEventHub();
+
+    public static CommentEventHub getInstance() {
+        return instance;
+    }
+
+    private CommentEventHub() {
+    }
+
+    // ========== 定数定義 ==========
+
+    /**
+     * 同時接続数の上限
+     */
+    private static final int MAX_SUBSCRIBERS = 1000;
+
+    /**
+     * 接続確認（空のイベント）の送信間隔（秒）
+     */
+    private static final long HEARTBEAT_SECONDS = 25;
+
+    private static final String HEARTBEAT_FRAME = ": ping\n\n";
+
+    // ========== 接続 ==========
+
+    /**
+     * 配信先の接続（CommentStreamServletが実装）
+     */
+    public interface Subscriber {
+
+        /**
+         * イベントを送信キューへ追加（ブロックしないこと）
+         *
+         * @param frame Server-Sent Events形式の1イベント分
+         * @return 追加できた場合true（切断済み・キューがあふれた場合false、登録を削除する）
+         */
+        boolean offer(String frame);
+    }
+
+    /**
+     * 投稿ID → 接続一覧
+     */
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    /**
+     * 配信スレッド（start・shutdownで書き換え、publishはロックなしで読むためvolatile）
+     */
+    private volatile ScheduledExecutorService dispatcher;
+
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * 接続を登録
+     *
+     * @param boardId 投稿ID
+     * @param subscriber 接続
+     * @return 登録できた場合true（接続数の上限に達している場合false）
+     */
+    public boolean subscribe(long boardId, Subscriber subscriber) {
+        if (subscriberCount.incrementAndGet() > MAX_SUBSCRIBERS) {
+            subscriberCount.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        // 追加・削除はcompute内で行う（空になった一覧の削除と同時の登録を取りこぼさない）
+        subscribers.compute(boardId, (id, set) -> {
+            Set<Subscriber> target = (set != null) ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        return true;
+    }
+
+    /**
+     * 接続を削除（切断・タイムアウト時）
+     *
+     * @param boardId 投稿ID
+     * @param subscriber 接続
+     */
+    public void unsubscribe(long boardId, Subscriber subscriber) {
+        subscribers.computeIfPresent(boardId, (id, set) -> {
+            if (set.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // ========== 配信 ==========
+
+    /**
+     * コメント追加を配信（CommentServiceから、CommentDaoのコミット後に呼ばれる）
+     *
+     * @param comment 登録したコメント
+     */
+    public void publish(CommentData comment) {
+        ScheduledExecutorService running = dispatcher;
+        if (running == null || !subscribers.containsKey(comment.getBoardId())) {
+            return;
+        }
+        publishedCount.incrementAndGet();
+        String frame = toFrame(comment);
+        try {
+            running.execute(() -> deliver(comment.getBoardId(), frame));
+        } catch (Exception e) {
+            logger.warn("【CommentEvent】配信を受け付けられません: " + e.getMessage());
+        }
+    }
+
+    private void deliver(long boardId, String frame) {
+        Set<Subscriber> set = subscribers.get(boardId);
+        if (set == null) {
+            return;
+        }
+        for (Subscriber subscriber : set) {
+            if (subscriber.offer(frame)) {
+                deliveredCount.incrementAndGet();
+            } else {
+                droppedCount.incrementAndGet();
+                unsubscribe(boardId, subscriber);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Long boardId : subscribers.keySet()) {
+            deliver(boardId, HEARTBEAT_FRAME);
+        }
+    }
+
+    /**
+     * コメント1件をServer-Sent Eventsの1イベントに変換
+     * - id: コメントID（再接続時にLast-Event-IDとして送られ、取りこぼし分の取得に使う）
+     * - event: comment
+     * - data: コメントのJSON（1行、CommentJson形式）
+     *
+     * @param comment コメント
+     * @return イベント文字列
+     */
+    public static String toFrame(CommentData comment) {
+        StringWriter data = new StringWriter();
+        try {
+            CommentJson.write(new JsonWriter(data), comment);
+        } catch (IOException e) {
+            // StringWriterへの書き込みでは発生しない
+            throw new IllegalStateException(e);
+        }
+        return "id: " + comment.getCommentId() + "\nevent: comment\ndata: " + data + "\n\n";
+    }
+
+    // ========== 開始・終了 ==========
+
+    /**
+     * 配信スレッドを開始（アプリケーション起動時）
+     */
+    public synchronized void start() {
+        if (dispatcher != null) {
+            return;
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "comment-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                heartbeat();
+            } catch (Exception e) {
+                logger.error("【CommentEvent】接続確認エラー: " + e.getMessage(), e);
+            }
+        }, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        // 設定を終えてから公開する
+        dispatcher = executor;
+        logger.info("【CommentEvent】配信開始");
+    }
+
+    /**
+     * 配信スレッドを停止（アプリケーション終了時）
+     * 接続中のリクエストはコンテナの終了処理で閉じられる
+     */
+    public synchronized void shutdown() {
+        if (dispatcher == null) {
+            return;
+        }
+        dispatcher.shutdownNow();
+        dispatcher = null;
+        subscribers.clear();
+        subscriberCount.set(0);
+        logger.info("【CommentEvent】配信停止");
+    }
+
+    // ========== 統計 ==========
+
+    /**
+     * 統計情報を名前→値の形式で取得
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("commentEvents.subscribers", (long) subscriberCount.get());
+        stats.put("commentEvents.boards", (long) subscribers.size());
+        stats.put("commentEvents.published", publishedCount.get());
+        stats.put("commentEvents.delivered", deliveredCount.get());
+        stats.put("commentEvents.dropped", droppedCount.get());
+        stats.put("commentEvents.rejected", rejectedCount.get());
+        return stats;
+    }
+}
@@ -0,0 +1,81 @@
+package service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import dao.BoardVersionStamp;
+import dao.CommentDao;
+import model.CommentData;
+
+/**
+ * 【CommentServiceクラス】
+ * コメントの書き込み（追加・更新・削除）を担当するサービス層
+ *
+ * 役割:
+ * - CommentDaoで書き込み（DAO側でEntity・コメントキャッシュを破棄）
+ * - 追加・削除の成功時、一覧キャッシュの破棄とETagの更新（BoardListCache）、トレンド集計を行う
+ * - 更新はコメント数が変わらないため、詳細画面のETagのみ進める（一覧には影響しない）
+ * - 追加したコメントを詳細画面を開いている閲覧者へ配信（CommentEventHub）
+ *
+ * 一覧キャッシュの破棄とETagの更新は必ずここで行う
+ * （ActionやDAOから個別に行うと、破棄とETagの順序が崩れるため）
+ */
+public class CommentService {
+
+    private static final Logger logger = LogManager.getLogger(CommentService.class);
+
+    private final BoardListCache listCache = BoardListCache.getInstance();
+
+    private final TrendingTracker trendingTracker = TrendingTracker.getInstance();
+
+    private final CommentEventHub eventHub = CommentEventHub.getInstance();
+
+    /**
+     * コメント追加（通常コメント・返信）
+     *
+     * @param comment コメントデータ（parentCommentIdがあれば返信）
+     * @return 登録したコメント、失敗した場合null
+     */
+    public CommentData addComment(CommentData comment) {
+        CommentData added = CommentDao.addComment(comment);
+        if (added != null) {
+            // トレンド集計に反映、コメント数を表示している一覧キャッシュを破棄（ETagも更新）
+            trendingTracker.recordComment(added.getBoardId());
+            listCache.onCommentChange(added.getBoardId());
+            eventHub.publish(added);
+            logger.debug("【Service】コメント追加成功 - board_id: " + added.getBoardId());
+        }
+        return added;
+    }
+
+    /**
+     * コメント更新
+     *
+     * @param commentId コメントID
+     * @param content 新しい内容
+     * @return 更新したコメント、対象なし・失敗した場合null
+     */
+    public CommentData updateComment(long commentId, String content) {
+        CommentData updated = CommentDao.updateComment(commentId, content);
+        if (updated != null) {
+            // コメント数は変わらないため一覧キャッシュ・一覧のETagはそのまま、詳細画面のETagのみ更新
+            BoardVersionStamp.touchPost(updated.getBoardId());
+        }
+        return updated;
+    }
+
+    /**
+     * コメント削除（論理削除）
+     *
+     * @param commentId コメントID
+     * @return 削除したコメント、対象なし・失敗した場合null
+     */
+    public CommentData deleteComment(long commentId) {
+        CommentData deleted = CommentDao.deleteComment(commentId);
+        if (deleted != null) {
+            // コメント数を表示している一覧キャッシュを破棄（ETagも更新）
+            listCache.onCommentChange(deleted.getBoardId());
+        }
+        return deleted;
+    }
+}
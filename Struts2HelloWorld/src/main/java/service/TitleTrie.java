@@ -0,0 +1,348 @@
+package service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import dao.BoardDao;
+import entity.BoardEntity;
+
+/**
+ * 【TitleTrieクラス】
+ * 投稿タイトルの前方一致検索（入力補完）用のトライ木
+ *
+ * 役割:
+ * - 起動時に全投稿のタイトルから構築
+ * - BoardServiceの登録・更新・削除に合わせて差分更新
+ * - 入力中の文字列で始まるタイトルを新しい投稿順に返す
+ *
+ * 構造:
+ * - 1ノード = 1文字（NFKC正規化＋小文字化後）
+ * - 子ノードはHashMapではなく、ソート済みのchar配列＋ノード配列で保持（省メモリ）
+ * - 各ノードに「そのノード以下で最も新しい投稿ID」上位MAX_SUGGESTIONS件を保持
+ *   → 検索は接頭辞の文字数分たどるだけで、部分木を走査しない
+ *
+ * 設計パターン: Singleton Pattern
+ */
+public class TitleTrie {
+
+    private static final Logger logger = LogManager.getLogger(TitleTrie.class);
+
+    // ========== Singleton Pattern 実装 ==========
+
+    private static TitleTrie instance = new TitleTrie();
+
+    public static TitleTrie getInstance() {
+        return instance;
+    }
+
+    /**
+     * テストでは個別のインスタンスを生成する（通常はgetInstanceを使用）
+     */
+    TitleTrie() {
+    }
+
+    // ========== 定数定義 ==========
+
+    /**
+     * 1回の補完で返す最大件数（各ノードが保持する上位件数）
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    // ========== 木構造 ==========
+
+    private Node root = new Node();
+
+    /**
+     * 投稿ID → 元のタイトル（補完結果の表示・更新時の古いタイトル削除用）
+     */
+    private Map<Long, String> titles = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * トライ木のノード
+     */
+    private static class Node {
+        static final long[] NO_IDS = new long[0];
+        static final char[] NO_KEYS = new char[0];
+        static final Node[] NO_CHILDREN = new Node[0];
+
+        char[] keys = NO_KEYS;          // 子ノードの文字（昇順）
+        Node[] children = NO_CHILDREN;  // keysと同じ並びの子ノード
+        long[] terminal = NO_IDS;       // このノードでタイトルが終わる投稿ID
+        long[] top = NO_IDS;            // 部分木内の上位投稿ID（降順）
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node node = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newKeys[at] = c;
+            newChildren[at] = node;
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return keys.length == 0 && terminal.length == 0;
+        }
+
+        /**
+         * 自ノードの終端IDと子ノードのtopから、上位IDを再計算
+         */
+        void recomputeTop() {
+            long[] merged = terminal.clone();
+            for (Node child : children) {
+                merged = mergeTop(merged, child.top);
+            }
+            top = merged.length > MAX_SUGGESTIONS ? Arrays.copyOf(merged, MAX_SUGGESTIONS) : merged;
+        }
+    }
+
+    /**
+     * 補完候補
+     */
+    public static class Suggestion {
+        private final long boardId;
+        private final String title;
+
+        public Suggestion(long boardId, String title) {
+            this.boardId = boardId;
+            this.title = title;
+        }
+
+        public long getBoardId() {
+            return boardId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    // ========== 構築 ==========
+
+    /**
+     * 全投稿のタイトルからトライ木を再構築
+     *
+     * @return 成功時true
+     */
+    public boolean rebuild() {
+        logger.info("【TitleTrie】構築開始");
+        long start = System.currentTimeMillis();
+
+        Node newRoot = new Node();
+        Map<Long, String> newTitles = new HashMap<>();
+
+        boolean success = BoardDao.scanTitles(context -> {
+            BoardEntity e = context.getResultObject();
+            if (e.getTitle() != null) {
+                newTitles.put(e.getBoardId(), e.getTitle());
+                insert(newRoot, normalize(e.getTitle()), e.getBoardId());
+            }
+        });
+
+        if (!success) {
+            logger.error("【TitleTrie】構築失敗");
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            root = newRoot;
+            titles = newTitles;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("【TitleTrie】構築完了 - タイトル数: " + newTitles.size()
+                + ", 所要時間: " + (System.currentTimeMillis() - start) + "ms");
+        return true;
+    }
+
+    // ========== 差分更新 ==========
+
+    /**
+     * タイトルを登録（既に登録済みの場合は置き換え）
+     */
+    public void add(long boardId, String title) {
+        if (title == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            String old = titles.put(boardId, title);
+            if (old != null) {
+                delete(root, normalize(old), 0, boardId);
+            }
+            insert(root, normalize(title), boardId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * タイトルを削除
+     */
+    public void remove(long boardId) {
+        lock.writeLock().lock();
+        try {
+            String old = titles.remove(boardId);
+            if (old != null) {
+                delete(root, normalize(old), 0, boardId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void insert(Node root, String key, long boardId) {
+        Node node = root;
+        node.top = offerTop(node.top, boardId);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            node.top = offerTop(node.top, boardId);
+        }
+        node.terminal = mergeTop(node.terminal, new long[] { boardId });
+    }
+
+    /**
+     * 再帰的に削除し、たどったノードのtopを再計算（空になったノードは取り除く）
+     */
+    private static void delete(Node node, String key, int depth, long boardId) {
+        if (depth == key.length()) {
+            node.terminal = without(node.terminal, boardId);
+        } else {
+            char c = key.charAt(depth);
+            Node child = node.child(c);
+            if (child == null) {
+                return;
+            }
+            delete(child, key, depth + 1, boardId);
+            if (child.isEmpty()) {
+                node.removeChild(c);
+            }
+        }
+        node.recomputeTop();
+    }
+
+    // ========== 検索 ==========
+
+    /**
+     * 前方一致で補完候補を取得（新しい投稿順）
+     *
+     * @param prefix 入力中の文字列
+     * @param limit 最大件数（MAX_SUGGESTIONS以下）
+     * @return 補完候補のリスト
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        List<Suggestion> result = new ArrayList<>();
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return result;
+        }
+        int max = Math.min(limit, MAX_SUGGESTIONS);
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return result;
+            }
+            for (int i = 0; i < node.top.length && result.size() < max; i++) {
+                long boardId = node.top[i];
+                result.add(new Suggestion(boardId, titles.get(boardId)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== 投稿ID配列の操作（降順） ==========
+
+    private static long[] offerTop(long[] top, long boardId) {
+        long[] merged = mergeTop(top, new long[] { boardId });
+        return merged.length > MAX_SUGGESTIONS ? Arrays.copyOf(merged, MAX_SUGGESTIONS) : merged;
+    }
+
+    /**
+     * 降順の2配列を重複なしでマージ（件数制限なし、呼び出し側で切り詰め）
+     */
+    private static long[] mergeTop(long[] a, long[] b) {
+        long[] merged = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j >= b.length || (i < a.length && a[i] >= b[j])) {
+                next = a[i++];
+            } else {
+                next = b[j++];
+            }
+            if (n == 0 || merged[n - 1] != next) {
+                merged[n++] = next;
+            }
+        }
+        return Arrays.copyOf(merged, n);
+    }
+
+    private static long[] without(long[] ids, long boardId) {
+        int n = 0;
+        long[] result = new long[ids.length];
+        for (long id : ids) {
+            if (id != boardId) {
+                result[n++] = id;
+            }
+        }
+        return n == ids.length ? ids : Arrays.copyOf(result, n);
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).trim();
+    }
+}
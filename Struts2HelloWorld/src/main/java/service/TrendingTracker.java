@@ -0,0 +1,295 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import util.CountMinSketch;
+import util.StripedCounterMap;
+
+/**
+ * 【TrendingTrackerクラス】
+ * 直近1時間・1日に閲覧・コメントの多い投稿（トレンド）を集計する
+ *
+ * 役割:
+ * - 詳細表示（重複を除いた閲覧）とコメント追加をメモリ上で数える
+ * - 期間ごとの上位TOP_K件の投稿IDを返す（DBアクセスなし）
+ *
+ * 仕組み（期間ごとのWindow）:
+ * - 期間を時間枠（バケット）に分け、枠ごとのCountMinSketchに加算
+ *   （1時間 = 5分×12枠、1日 = 1時間×24枠）
+ * - スコア = 期間内の全枠の推定値の合計（古い枠は時間経過で空にして再利用）
+ * - 上位候補をスコア最小がすぐ取り出せるヒープで保持し、
+ *   候補より高いスコアになった投稿と入れ替える
+ * - 枠が切り替わるたびに候補のスコアを再計算（期間外になった分を除く）
+ *
+ * 並行性:
+ * - 閲覧・コメントの記録はStripedCounterMapへの加算のみ（期間全体のロックを取らない）
+ * - 溜まった加算は、参照時（getTopIds）と枠の切り替わり時にまとめてスケッチ・候補へ反映
+ *   （ロックを取るのは参照と、枠ごとに最初の1回の記録のみ）
+ *
+ * 注意:
+ * - スコアは近似値（他の投稿との衝突で多めに出ることがある）
+ * - 枠単位で古い分を捨てるため、期間の境界は最大1枠分ずれる
+ * - アプリケーション再起動で集計は0から
+ *
+ * 設計パターン: Singleton Pattern
+ */
+public class TrendingTracker {
+
+    // ========== Singleton Pattern 実装 ==========
+
+    private static TrendingTracker instance = new TrendingTracker();
+
+    public static TrendingTracker getInstance() {
+        return instance;
+    }
+
+    /**
+     * テストでは個別のインスタンスを生成する（通常はgetInstanceを使用）
+     */
+    TrendingTracker() {
+    }
+
+    // ========== 定数定義 ==========
+
+    /**
+     * 期間ごとに保持する上位候補の数
+     */
+    public static final int TOP_K = 50;
+
+    /**
+     * コメント1件あたりのスコア（閲覧1回 = 1）
+     */
+    private static final int COMMENT_WEIGHT = 3;
+
+    /**
+     * 1枠あたりのCountMinSketchの列数
+     */
+    private static final int SKETCH_WIDTH = 2048;
+
+    /**
+     * 集計期間
+     */
+    public enum Period {
+        HOUR(5 * 60 * 1000L, 12),
+        DAY(60 * 60 * 1000L, 24);
+
+        final long bucketMillis;
+        final int bucketCount;
+
+        Period(long bucketMillis, int bucketCount) {
+            this.bucketMillis = bucketMillis;
+            this.bucketCount = bucketCount;
+        }
+
+        /**
+         * 文字列から期間を取得（不明な値は1時間）
+         */
+        public static Period parse(String value) {
+            return "day".equalsIgnoreCase(value) ? DAY : HOUR;
+        }
+    }
+
+    // ========== 状態 ==========
+
+    private final Window hour = new Window(Period.HOUR);
+    private final Window day = new Window(Period.DAY);
+
+    // ========== イベント ==========
+
+    /**
+     * 閲覧を記録（重複を除いた閲覧のみ呼び出す）
+     *
+     * @param boardId 投稿ID
+     */
+    public void recordView(long boardId) {
+        record(boardId, 1);
+    }
+
+    /**
+     * コメント追加を記録
+     *
+     * @param boardId 投稿ID
+     */
+    public void recordComment(long boardId) {
+        record(boardId, COMMENT_WEIGHT);
+    }
+
+    private void record(long boardId, int weight) {
+        long now = System.currentTimeMillis();
+        hour.record(boardId, weight, now);
+        day.record(boardId, weight, now);
+    }
+
+    // ========== 参照 ==========
+
+    /**
+     * スコアの高い順に投稿IDを取得
+     *
+     * @param period 集計期間
+     * @param limit 最大件数
+     * @return 投稿IDリスト（スコアの高い順）
+     */
+    public List<Long> getTopIds(Period period, int limit) {
+        Window window = (period == Period.DAY) ? day : hour;
+        return window.top(limit, System.currentTimeMillis());
+    }
+
+    /**
+     * 統計情報を名前→値の形式で取得
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("trending.hourCandidates", (long) hour.candidateCount());
+        stats.put("trending.dayCandidates", (long) day.candidateCount());
+        return stats;
+    }
+
+    // ========== 期間ごとの集計 ==========
+
+    /**
+     * 1つの集計期間（枠ごとのCountMinSketch + 上位候補のヒープ）
+     */
+    private static class Window {
+
+        private final long bucketMillis;
+        private final CountMinSketch[] buckets;
+
+        /**
+         * 現在の枠の番号（時刻 / bucketMillis）
+         */
+        private volatile long currentBucket;
+
+        /**
+         * 投稿ID → スケッチへ未反映のスコア（記録はここへの加算のみ）
+         */
+        private final StripedCounterMap pending = new StripedCounterMap();
+
+        /**
+         * 上位候補（投稿ID → スコア）と、スコア最小が先頭のヒープ
+         */
+        private final Map<Long, Candidate> candidates = new HashMap<>();
+        private final PriorityQueue<Candidate> heap =
+                new PriorityQueue<>(Comparator.comparingLong(c -> c.score));
+
+        Window(Period period) {
+            this.bucketMillis = period.bucketMillis;
+            this.buckets = new CountMinSketch[period.bucketCount];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new CountMinSketch(SKETCH_WIDTH);
+            }
+            this.currentBucket = System.currentTimeMillis() / bucketMillis;
+        }
+
+        void record(long boardId, int weight, long now) {
+            pending.add(boardId, weight);
+            // 枠が切り替わった時のみロックを取り、溜まった分を前の枠へ反映してから切り替える
+            if (now / bucketMillis > currentBucket) {
+                synchronized (this) {
+                    absorb();
+                    advance(now);
+                }
+            }
+        }
+
+        /**
+         * 溜まった加算を現在の枠のスケッチへ反映し、上位候補を更新
+         */
+        private void absorb() {
+            Map<Long, Long> deltas = pending.drain();
+            pending.release();
+            CountMinSketch bucket = buckets[(int) (currentBucket % buckets.length)];
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                bucket.add(entry.getKey(), (int) Math.min(entry.getValue(), Integer.MAX_VALUE));
+                updateCandidate(entry.getKey());
+            }
+        }
+
+        private void updateCandidate(long boardId) {
+            long score = estimate(boardId);
+
+            Candidate candidate = candidates.get(boardId);
+            if (candidate != null) {
+                // スコア変更はヒープから外して入れ直す
+                heap.remove(candidate);
+                candidate.score = score;
+                heap.add(candidate);
+                return;
+            }
+            if (candidates.size() >= TOP_K) {
+                if (heap.peek().score >= score) {
+                    return;
+                }
+                candidates.remove(heap.poll().boardId);
+            }
+            candidate = new Candidate(boardId, score);
+            candidates.put(boardId, candidate);
+            heap.add(candidate);
+        }
+
+        synchronized List<Long> top(int limit, long now) {
+            absorb();
+            advance(now);
+            List<Candidate> sorted = new ArrayList<>(candidates.values());
+            sorted.sort(Comparator.comparingLong((Candidate c) -> c.score).reversed()
+                    .thenComparing(Comparator.comparingLong((Candidate c) -> c.boardId).reversed()));
+            List<Long> ids = new ArrayList<>();
+            for (Candidate candidate : sorted) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                ids.add(candidate.boardId);
+            }
+            return ids;
+        }
+
+        synchronized int candidateCount() {
+            return candidates.size();
+        }
+
+        /**
+         * 枠の切り替え（期間外になった枠を空にし、候補のスコアを再計算）
+         */
+        private void advance(long now) {
+            long bucket = now / bucketMillis;
+            if (bucket <= currentBucket) {
+                return;
+            }
+            long elapsed = Math.min(bucket - currentBucket, buckets.length);
+            for (long i = 1; i <= elapsed; i++) {
+                buckets[(int) ((currentBucket + i) % buckets.length)].clear();
+            }
+            currentBucket = bucket;
+
+            heap.clear();
+            candidates.values().removeIf(c -> {
+                c.score = estimate(c.boardId);
+                return c.score == 0;
+            });
+            heap.addAll(candidates.values());
+        }
+
+        private long estimate(long boardId) {
+            long sum = 0;
+            for (CountMinSketch sketch : buckets) {
+                sum += sketch.estimate(boardId);
+            }
+            return sum;
+        }
+    }
+
+    private static class Candidate {
+        final long boardId;
+        long score;
+
+        Candidate(long boardId, long score) {
+            this.boardId = boardId;
+            this.score = score;
+        }
+    }
+}
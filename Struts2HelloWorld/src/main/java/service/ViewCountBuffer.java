@@ -0,0 +1,188 @@
+package service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import dao.BoardDao;
+import util.StripedCounterMap;
+
+/**
+ * 【ViewCountBufferクラス】
+ * 閲覧数の加算をメモリに溜め、定期的にまとめてDBへ反映する
+ *
+ * 役割:
+ * - 詳細表示のたびのUPDATE（SqlSession取得・行ロック・コミット）をなくす
+ * - FLUSH_INTERVAL_SECONDSごとに、溜まった加算を1回の一括UPDATEで反映
+ * - アプリケーション終了時にも残りを反映
+ * - 未反映件数などの統計を提供
+ *
+ * 注意:
+ * - 一覧画面の閲覧数は最大でフラッシュ間隔分遅れて反映される
+ * - DB反映に失敗した加算は捨てずに戻し、次回に再度反映する
+ * - 反映中の加算は、DBのコミットとキャッシュの破棄が終わるまで未反映分として数える
+ *   （反映中に詳細画面の閲覧数が一時的に減って見えないように。直後のごく短い間は多めに見えることがある）
+ *
+ * 設計パターン: Singleton Pattern
+ */
+public class ViewCountBuffer {
+
+    private static final Logger logger = LogManager.getLogger(ViewCountBuffer.class);
+
+    // ========== Singleton Pattern 実装 ==========
+
+    private static ViewCountBuffer instance = new ViewCountBuffer();
+
+    public static ViewCountBuffer getInstance() {
+        return instance;
+    }
+
+    private ViewCountBuffer() {
+    }
+
+    // ========== 定数定義 ==========
+
+    /**
+     * DBへの反映間隔（秒）
+     */
+    private static final long FLUSH_INTERVAL_SECONDS = 10;
+
+    // ========== 状態 ==========
+
+    /**
+     * 投稿ID → 未反映の閲覧数
+     */
+    private final StripedCounterMap pending = new StripedCounterMap();
+
+    private ScheduledExecutorService scheduler;
+
+    private final AtomicLong flushedViews = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile long lastFlushMillis = 0;
+
+    // ========== 加算・参照 ==========
+
+    /**
+     * 閲覧数を1加算（DBアクセスなし）
+     *
+     * @param boardId 投稿ID
+     */
+    public void increment(long boardId) {
+        pending.add(boardId, 1);
+    }
+
+    /**
+     * 未反映の閲覧数
+     *
+     * @param boardId 投稿ID
+     * @return DBに未反映の加算値（反映中の分を含む）
+     */
+    public long getPending(long boardId) {
+        return pending.get(boardId);
+    }
+
+    // ========== 定期反映 ==========
+
+    /**
+     * 定期反映を開始（アプリケーション起動時）
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "view-count-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                logger.error("【ViewCount】定期反映エラー: " + e.getMessage(), e);
+            }
+        }, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        logger.info("【ViewCount】定期反映開始 - 間隔: " + FLUSH_INTERVAL_SECONDS + "秒");
+    }
+
+    /**
+     * 定期反映を停止し、残りをすべて反映（アプリケーション終了時）
+     */
+    public void shutdown() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = scheduler;
+            scheduler = null;
+        }
+        // 実行中の定期反映の完了を待つ（flushと同じロックを保持したまま待たない）
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int flushed = flush();
+        logger.info("【ViewCount】終了時反映完了 - 投稿数: " + flushed);
+    }
+
+    /**
+     * 溜まった閲覧数をDBへ反映
+     *
+     * @return 反映した投稿数
+     */
+    public synchronized int flush() {
+        // 取り出した分はrelease()まで（DB反映・キャッシュ破棄が終わるまで）未反映分として見える
+        Map<Long, Long> deltas = pending.drain();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        if (!BoardDao.addViewCounts(deltas)) {
+            // 失敗した分は戻して次回に再試行
+            pending.restore(deltas);
+            pending.release();
+            failedFlushes.incrementAndGet();
+            logger.error("【ViewCount】反映失敗（次回再試行） - 投稿数: " + deltas.size());
+            return 0;
+        }
+
+        long views = 0;
+        for (long value : deltas.values()) {
+            views += value;
+        }
+        // 閲覧数を表示している一覧キャッシュを破棄し、一覧のETagを進める
+        BoardListCache.getInstance().onViewCountChange(deltas.keySet());
+        pending.release();
+        flushedViews.addAndGet(views);
+        flushCount.incrementAndGet();
+        lastFlushMillis = System.currentTimeMillis();
+
+        logger.debug("【ViewCount】反映完了 - 投稿数: " + deltas.size() + ", 閲覧数: " + views);
+        return deltas.size();
+    }
+
+    // ========== 統計 ==========
+
+    /**
+     * 統計情報を名前→値の形式で取得
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("viewCount.pendingPosts", (long) pending.pendingKeys());
+        stats.put("viewCount.pendingViews", pending.pendingTotal());
+        stats.put("viewCount.flushedViews", flushedViews.get());
+        stats.put("viewCount.flushes", flushCount.get());
+        stats.put("viewCount.failedFlushes", failedFlushes.get());
+        stats.put("viewCount.lastFlushMillis", lastFlushMillis);
+        return stats;
+    }
+}
@@ -0,0 +1,90 @@
+package service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import util.RotatingBloomFilter;
+
+/**
+ * 【ViewDeduplicatorクラス】
+ * 同じ閲覧者（IPアドレス）による同じ投稿の再表示を、一定時間閲覧数に数えない
+ *
+ * 役割:
+ * - 再読み込みで閲覧数が水増しされるのを防ぐ
+ * - 判定はメモリ上のみ（DBへの書き込み・照会なし）
+ *
+ * 仕組み:
+ * - 「投稿ID:IPアドレス」をRotatingBloomFilter（WINDOW_MILLISごとに世代交代）に記録
+ *   → 最後の閲覧からWINDOW_MILLIS〜2倍の間は数えない
+ * - メモリは世代2つ分で一定（想定件数に達した場合は早めに世代交代し、偽陽性の増加を防ぐ）
+ *
+ * 設計パターン: Singleton Pattern
+ */
+public class ViewDeduplicator {
+
+    // ========== Singleton Pattern 実装 ==========
+
+    private static ViewDeduplicator instance = new ViewDeduplicator();
+
+    public static ViewDeduplicator getInstance() {
+        return instance;
+    }
+
+    private ViewDeduplicator() {
+    }
+
+    // ========== 定数定義 ==========
+
+    /**
+     * 世代交代の間隔（30分）
+     */
+    private static final long WINDOW_MILLIS = 30 * 60 * 1000L;
+
+    /**
+     * 1世代あたりの想定閲覧者数（投稿×IPの組み合わせ）
+     */
+    private static final int EXPECTED_VIEWS_PER_WINDOW = 100_000;
+
+    // ========== 状態 ==========
+
+    private final RotatingBloomFilter seen =
+            new RotatingBloomFilter(WINDOW_MILLIS, EXPECTED_VIEWS_PER_WINDOW);
+
+    private final AtomicLong countedViews = new AtomicLong();
+    private final AtomicLong suppressedViews = new AtomicLong();
+
+    // ========== 判定 ==========
+
+    /**
+     * 閲覧を記録し、閲覧数に数えるべきか判定
+     *
+     * @param boardId 投稿ID
+     * @param clientIp 閲覧者のIPアドレス（不明の場合は常に数える）
+     * @return 初めての閲覧（期間内）ならtrue、再表示ならfalse
+     */
+    public boolean recordView(long boardId, String clientIp) {
+        if (clientIp != null && !clientIp.isEmpty()
+                && !seen.addIfAbsent(boardId + ":" + clientIp)) {
+            suppressedViews.incrementAndGet();
+            return false;
+        }
+        countedViews.incrementAndGet();
+        return true;
+    }
+
+    // ========== 統計 ==========
+
+    /**
+     * 統計情報を名前→値の形式で取得
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("viewDedup.counted", countedViews.get());
+        stats.put("viewDedup.suppressed", suppressedViews.get());
+        stats.put("viewDedup.currentEntries", (long) seen.currentSize());
+        stats.put("viewDedup.rotations", seen.getRotations());
+        stats.put("viewDedup.bytes", seen.sizeInBytes());
+        return stats;
+    }
+}
@@ -0,0 +1,231 @@
+package service;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import dao.BoardDao;
+import util.RotatingBloomFilter;
+import util.StripedCounterMap;
+
+/**
+ * 【VoteBufferクラス】
+ * いいね・よくないねの投票をメモリに溜め、定期的にまとめてDBへ反映する
+ *
+ * 役割:
+ * - 投票のたびのUPDATE（同じ行への書き込みが集中すると行ロック待ちで直列化）をなくす
+ * - 加算はStripedCounterMap（キーごとのLongAdder）で受け付けるため、同じ投稿への投票も互いに待たない
+ * - FLUSH_INTERVAL_SECONDSごとに、溜まった投票を1回の一括UPDATEで反映
+ * - 同じ閲覧者（IPアドレス）による同じ投稿への投票は、受け付けた投票からDEDUP_WINDOW_MILLIS〜2倍の間1回のみ
+ *   （いいね・よくないねの合計で1回、RotatingBloomFilterの世代交代による）
+ * - 人気投稿に投票が集中して1世代の想定件数に達した場合は早めに世代交代する
+ *   （判定期間は短くなるが、偽陽性で新しい投票者を重複として拒否し続けない）
+ *
+ * 注意:
+ * - 一覧画面の投票数は最大でフラッシュ間隔分遅れて反映される
+ * - DB反映に失敗した投票は捨てずに戻し、次回に再度反映する
+ * - 反映中の投票は、DBのコミットとキャッシュの破棄が終わるまで未反映分として数える
+ *   （反映中に詳細画面の投票数が一時的に減って見えないように）
+ *
+ * 設計パターン: Singleton Pattern
+ */
+public class VoteBuffer {
+
+    private static final Logger logger = LogManager.getLogger(VoteBuffer.class);
+
+    // ========== Singleton Pattern 実装 ==========
+
+    private static VoteBuffer instance = new VoteBuffer();
+
+    public static VoteBuffer getInstance() {
+        return instance;
+    }
+
+    private VoteBuffer() {
+    }
+
+    // ========== 定数定義 ==========
+
+    /**
+     * DBへの反映間隔（秒）
+     */
+    private static final long FLUSH_INTERVAL_SECONDS = 10;
+
+    /**
+     * 重複投票の判定の世代交代間隔（24時間、受け付けた投票から24〜48時間は重複と判定）
+     */
+    private static final long DEDUP_WINDOW_MILLIS = 24 * 60 * 60 * 1000L;
+
+    /**
+     * 1世代あたりの想定投票数（投稿×IPの組み合わせ、1世代約2.4MB）
+     * - 人気投稿に毎秒数千件の投票が集まる場合を想定（超えた場合は早めに世代交代）
+     */
+    private static final int EXPECTED_VOTES_PER_WINDOW = 2_000_000;
+
+    // ========== 状態 ==========
+
+    /**
+     * 投稿ID → 未反映のいいね数・よくないね数
+     */
+    private final StripedCounterMap pendingLikes = new StripedCounterMap();
+    private final StripedCounterMap pendingDislikes = new StripedCounterMap();
+
+    private final RotatingBloomFilter voted =
+            new RotatingBloomFilter(DEDUP_WINDOW_MILLIS, EXPECTED_VOTES_PER_WINDOW);
+
+    private ScheduledExecutorService scheduler;
+
+    private final AtomicLong acceptedVotes = new AtomicLong();
+    private final AtomicLong duplicateVotes = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    // ========== 投票・参照 ==========
+
+    /**
+     * 投票を受け付ける（DBアクセスなし）
+     *
+     * @param boardId 投稿ID
+     * @param clientIp 投票者のIPアドレス（不明の場合は重複判定しない）
+     * @param like いいねの場合true、よくないねの場合false
+     * @return 受け付けた場合true、重複投票の場合false
+     */
+    public boolean vote(long boardId, String clientIp, boolean like) {
+        if (clientIp != null && !clientIp.isEmpty()
+                && !voted.addIfAbsent(boardId + ":" + clientIp)) {
+            duplicateVotes.incrementAndGet();
+            return false;
+        }
+        (like ? pendingLikes : pendingDislikes).add(boardId, 1);
+        acceptedVotes.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 未反映のいいね数（反映中の分を含む）
+     */
+    public long getPendingLikes(long boardId) {
+        return pendingLikes.get(boardId);
+    }
+
+    /**
+     * 未反映のよくないね数（反映中の分を含む）
+     */
+    public long getPendingDislikes(long boardId) {
+        return pendingDislikes.get(boardId);
+    }
+
+    // ========== 定期反映 ==========
+
+    /**
+     * 定期反映を開始（アプリケーション起動時）
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "vote-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                logger.error("【Vote】定期反映エラー: " + e.getMessage(), e);
+            }
+        }, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        logger.info("【Vote】定期反映開始 - 間隔: " + FLUSH_INTERVAL_SECONDS + "秒");
+    }
+
+    /**
+     * 定期反映を停止し、残りをすべて反映（アプリケーション終了時）
+     */
+    public void shutdown() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = scheduler;
+            scheduler = null;
+        }
+        // 実行中の定期反映の完了を待つ（flushと同じロックを保持したまま待たない）
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int flushed = flush();
+        logger.info("【Vote】終了時反映完了 - 投稿数: " + flushed);
+    }
+
+    /**
+     * 溜まった投票をDBへ反映
+     *
+     * @return 反映した投稿数
+     */
+    public synchronized int flush() {
+        // 取り出した分はrelease()まで（DB反映・キャッシュ破棄が終わるまで）未反映分として見える
+        Map<Long, Long> likes = pendingLikes.drain();
+        Map<Long, Long> dislikes = pendingDislikes.drain();
+        if (likes.isEmpty() && dislikes.isEmpty()) {
+            return 0;
+        }
+
+        if (!BoardDao.addVoteCounts(likes, dislikes)) {
+            // 失敗した分は戻して次回に再試行
+            pendingLikes.restore(likes);
+            pendingDislikes.restore(dislikes);
+            release();
+            failedFlushes.incrementAndGet();
+            logger.error("【Vote】反映失敗（次回再試行） - 投稿数: "
+                    + (likes.size() + dislikes.size()));
+            return 0;
+        }
+
+        // 投票数を表示している一覧キャッシュを破棄し、一覧のETagを進める
+        Set<Long> boardIds = new HashSet<>(likes.keySet());
+        boardIds.addAll(dislikes.keySet());
+        BoardListCache.getInstance().onVoteCountChange(boardIds);
+        release();
+        flushCount.incrementAndGet();
+
+        logger.debug("【Vote】反映完了 - 投稿数: " + boardIds.size());
+        return boardIds.size();
+    }
+
+    private void release() {
+        pendingLikes.release();
+        pendingDislikes.release();
+    }
+
+    // ========== 統計 ==========
+
+    /**
+     * 統計情報を名前→値の形式で取得
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("vote.accepted", acceptedVotes.get());
+        stats.put("vote.duplicates", duplicateVotes.get());
+        stats.put("vote.dedupEntries", (long) voted.currentSize());
+        stats.put("vote.dedupFillPercent", voted.fillPercent());
+        stats.put("vote.dedupRotations", voted.getRotations());
+        stats.put("vote.dedupCapacityRotations", voted.getCapacityRotations());
+        stats.put("vote.pendingLikes", pendingLikes.pendingTotal());
+        stats.put("vote.pendingDislikes", pendingDislikes.pendingTotal());
+        stats.put("vote.flushes", flushCount.get());
+        stats.put("vote.failedFlushes", failedFlushes.get());
+        return stats;
+    }
+}
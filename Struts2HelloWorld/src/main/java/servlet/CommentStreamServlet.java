@@ -0,0 +1,228 @@
+package servlet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import dao.CommentDao;
+import model.CommentData;
+import service.CommentEventHub;
+
+/**
+ * 【CommentStreamServletクラス】
+ * 詳細画面へ新しいコメントを配信するServer-Sent Eventsのエンドポイント
+ *
+ * URL: commentStream?boardId=投稿ID（web.xmlで登録、Struts2の対象外）
+ *
+ * 処理:
+ * - 非同期処理（AsyncContext）で接続を保持し、CommentEventHubへ登録
+ * - コメントが追加されると、そのコメントのみがイベントとして送られる
+ * - STREAM_TIMEOUT_MILLISで接続を閉じる（ブラウザのEventSourceが自動で再接続）
+ * - 再接続時はLast-Event-ID（最後に受け取ったコメントID）以降のコメントを先に送る
+ * - 書き込みは非ブロッキングI/O（WriteListener）で行い、未送信のイベントは接続ごとのキューに保持
+ *   （キューがMAX_PENDING_FRAMESを超えた接続は、読み取りが止まっているとみなして切断）
+ *
+ * イベント形式はCommentEventHub.toFrame()を参照
+ */
+public class CommentStreamServlet extends HttpServlet {
+
+    private static final Logger logger = LogManager.getLogger(CommentStreamServlet.class);
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 1回の接続を保持する時間（10分）
+     */
+    private static final long STREAM_TIMEOUT_MILLIS = 10 * 60 * 1000L;
+
+    /**
+     * 再接続時に送る取りこぼし分の最大件数
+     */
+    private static final int MAX_REPLAY = 100;
+
+    /**
+     * 切断時のブラウザの再接続間隔（ミリ秒）
+     */
+    private static final int RETRY_MILLIS = 3000;
+
+    /**
+     * 1接続あたりの未送信イベントの上限（再接続時の取りこぼし分 + 余裕）
+     */
+    private static final int MAX_PENDING_FRAMES = MAX_REPLAY + 64;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        long boardId = parseLong(request.getParameter("boardId"));
+        if (boardId <= 0) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        // リバースプロキシでのバッファリングを無効化
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext context = request.startAsync();
+        context.setTimeout(STREAM_TIMEOUT_MILLIS);
+        ServletOutputStream out = response.getOutputStream();
+
+        Stream stream = new Stream(boardId, context, out);
+        // 以降の書き込みは非ブロッキング（登録前に設定：配信スレッドからの書き込みに備える）
+        out.setWriteListener(stream);
+        if (!CommentEventHub.getInstance().subscribe(boardId, stream)) {
+            logger.warn("【CommentStream】接続数の上限 - boardId: " + boardId);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            context.complete();
+            return;
+        }
+        context.addListener(stream);
+
+        stream.offer("retry: " + RETRY_MILLIS + "\n\n");
+
+        // 再接続: 切断中に追加されたコメントを送る（登録後に送るため取りこぼしなし、重複は画面側で除外）
+        long lastEventId = parseLong(request.getHeader("Last-Event-ID"));
+        if (lastEventId > 0) {
+            List<CommentData> missed = CommentDao.getCommentsAfter(boardId, lastEventId, MAX_REPLAY);
+            for (CommentData comment : missed) {
+                stream.offer(CommentEventHub.toFrame(comment));
+            }
+        }
+        logger.debug("【CommentStream】接続 - boardId: " + boardId);
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 1接続分（CommentEventHubの配信先）
+     *
+     * - offer: 配信スレッド・リクエストスレッドからキューへ追加し、書き込めるだけ書き込む
+     * - onWritePossible: 書き込み待ちが解けた時にコンテナから呼ばれ、残りを書き込む
+     * - isReady()がfalseの間は書き込まない（呼び出し元のスレッドをブロックしない）
+     * キューと出力はこのオブジェクトのロックで保護する（ロック中にブロックする処理はない）
+     */
+    private static class Stream implements CommentEventHub.Subscriber, AsyncListener, WriteListener {
+
+        private final long boardId;
+        private final AsyncContext context;
+        private final ServletOutputStream out;
+        private final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+        private boolean needsFlush = false;
+        private boolean closed = false;
+
+        Stream(long boardId, AsyncContext context, ServletOutputStream out) {
+            this.boardId = boardId;
+            this.context = context;
+            this.out = out;
+        }
+
+        @Override
+        public synchronized boolean offer(String frame) {
+            if (closed) {
+                return false;
+            }
+            if (queue.size() >= MAX_PENDING_FRAMES) {
+                logger.debug("【CommentStream】送信キュー超過のため切断 - boardId: " + boardId);
+                close();
+                return false;
+            }
+            queue.add(frame.getBytes(StandardCharsets.UTF_8));
+            drain();
+            return !closed;
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            drain();
+        }
+
+        /**
+         * 書き込み可能な間、キューのイベントを書き込む（最後にflush）
+         */
+        private void drain() {
+            try {
+                while (!closed && out.isReady()) {
+                    byte[] frame = queue.poll();
+                    if (frame != null) {
+                        out.write(frame);
+                        needsFlush = true;
+                    } else if (needsFlush) {
+                        needsFlush = false;
+                        out.flush();
+                    } else {
+                        return;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        private synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            CommentEventHub.getInstance().unsubscribe(boardId, this);
+            try {
+                context.complete();
+            } catch (IllegalStateException e) {
+                // コンテナ側で既に終了している
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+            }
+            CommentEventHub.getInstance().unsubscribe(boardId, this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 【BloomFilterクラス】
+ * 「以前に追加したか」を固定サイズのビット列で近似的に判定する
+ *
+ * 仕組み:
+ * - キーごとにHASH_COUNT個のビット位置を求め、追加時にすべて1にする
+ * - 判定時にすべて1なら「追加済みかもしれない」、1つでも0なら「確実に未追加」
+ * - 偽陽性（未追加なのに追加済みと判定）は想定件数まで約FALSE_POSITIVE_RATE、偽陰性はない
+ * - 件数が想定を超えてもメモリは増えない（偽陽性率が上がる）
+ *
+ * スレッドセーフではない（呼び出し側で同期すること）
+ */
+public class BloomFilter {
+
+    /**
+     * 想定件数まで追加したときの偽陽性率の目安
+     */
+    public static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * 1キーあたりのビット位置の数（偽陽性率1%の最適値）
+     */
+    private static final int HASH_COUNT = 7;
+
+    private final long[] bits;
+    private final long bitCount;
+    private int size = 0;
+
+    /**
+     * @param expectedInsertions 想定する追加件数
+     */
+    public BloomFilter(int expectedInsertions) {
+        // 偽陽性率pに必要なビット数: -n * ln(p) / (ln 2)^2（p=1%で1件あたり約9.6ビット）
+        long required = (long) Math.ceil(-Math.max(expectedInsertions, 1)
+                * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) ((required + 63) / 64)];
+        this.bitCount = bits.length * 64L;
+    }
+
+    /**
+     * 追加
+     *
+     * @param key キー
+     * @return 未追加だった場合true（追加済みの可能性がある場合false）
+     */
+    public boolean add(String key) {
+        long hash1 = hash(key, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+        boolean changed = false;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                changed = true;
+            }
+        }
+        if (changed) {
+            size++;
+        }
+        return changed;
+    }
+
+    /**
+     * 追加済みか判定
+     *
+     * @param key キー
+     * @return 追加済みの可能性がある場合true（falseなら確実に未追加）
+     */
+    public boolean mightContain(String key) {
+        long hash1 = hash(key, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 追加した件数（追加済みと判定された分は含まない）
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ビット列のバイト数
+     */
+    public long sizeInBytes() {
+        return bits.length * 8L;
+    }
+
+    private static long hash(String key, long seed) {
+        long h = seed;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,44 @@
+package util;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+
+import model.CommentData;
+
+/**
+ * 【CommentJsonクラス】
+ * コメント1件のJSON表現（新着コメントの配信・返信一覧APIで共通）
+ *
+ * 出力例:
+ *   {"commentId":12,"boardId":3,"parentCommentId":5,"writer":"名前",
+ *    "content":"本文","createdAt":"2025/10/16 14:30","updatedAt":null}
+ *
+ * 日時は詳細画面の表示と同じ形式（yyyy/MM/dd HH:mm）
+ */
+public class CommentJson {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
+    private CommentJson() {
+    }
+
+    /**
+     * コメント1件をJSONオブジェクトとして出力
+     *
+     * @param json 出力先
+     * @param comment コメント
+     */
+    public static void write(JsonWriter json, CommentData comment) throws IOException {
+        json.beginObject()
+            .name("commentId").value(comment.getCommentId())
+            .name("boardId").value(comment.getBoardId())
+            .name("parentCommentId").value(comment.getParentCommentId())
+            .name("writer").value(comment.getWriter())
+            .name("content").value(comment.getContent())
+            .name("createdAt").value(comment.getCreatedAt() != null
+                    ? comment.getCreatedAt().toLocalDateTime().format(DATE_FORMAT) : null)
+            .name("updatedAt").value(comment.getUpdatedAt() != null
+                    ? comment.getUpdatedAt().toLocalDateTime().format(DATE_FORMAT) : null)
+            .endObject();
+    }
+}
@@ -0,0 +1,89 @@
+package util;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 【ConditionalGetUtilクラス】
+ * HTTP条件付きGET（ETag / Last-Modified）の判定
+ *
+ * 役割:
+ * - レスポンスにETag・Last-Modifiedヘッダを設定
+ * - If-None-Match / If-Modified-Since と比較し、変更がなければ304を設定
+ *
+ * 判定規則（RFC 7232）:
+ * - If-None-Matchがあればそれのみで判定（弱いETag比較、"*"は常に一致）
+ * - なければIf-Modified-Since（秒単位）で判定
+ * - GET / HEAD 以外は常に変更ありとする
+ * - ETagがnull（レプリカの反映待ちなど）の場合は検証子を出さず、ブラウザに保存させない
+ */
+public class ConditionalGetUtil {
+
+    private ConditionalGetUtil() {
+    }
+
+    /**
+     * 変更がないかを判定し、304レスポンスを設定する
+     *
+     * @param request リクエスト
+     * @param response レスポンス
+     * @param etag 現在のETag（引用符付き、nullの場合は常に変更あり）
+     * @param lastModified 現在の最終更新時刻（ミリ秒）
+     * @return 変更なし（304を設定済み、本文は出力しないこと）の場合true
+     */
+    public static boolean isNotModified(HttpServletRequest request, HttpServletResponse response,
+                                        String etag, long lastModified) {
+        if (etag == null) {
+            response.setHeader("Cache-Control", "no-store");
+            return false;
+        }
+
+        // ブラウザに毎回再検証させる（ETagが一致すれば304で済む）
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Cache-Control", "no-cache");
+
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+
+        boolean notModified;
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            notModified = matches(ifNoneMatch, etag);
+        } else {
+            long ifModifiedSince;
+            try {
+                ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            } catch (IllegalArgumentException e) {
+                ifModifiedSince = -1;
+            }
+            // HTTP日付は秒単位のため、ミリ秒を切り捨てて比較
+            notModified = ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+        }
+
+        if (notModified) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+        return notModified;
+    }
+
+    /**
+     * If-None-Matchの値（カンマ区切り）に現在のETagが含まれるか
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        String current = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || stripWeak(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,106 @@
+package util;
+
+/**
+ * 【CountMinSketchクラス】
+ * キー（投稿IDなど）ごとの出現回数を固定サイズのメモリで近似的に数える
+ *
+ * 仕組み:
+ * - DEPTH本の行それぞれで、キーを別々のハッシュで列に割り当てて加算
+ * - 推定値は各行の値の最小値（他キーとの衝突で多めに出ることはあるが、少なくはならない）
+ * - キーの種類がいくら増えてもメモリは DEPTH × width 個のintで一定
+ *
+ * 使用箇所:
+ * - BoardEntityCache: 追い出し時の頻度比較（よく参照される投稿を優先して残す）
+ * - 集計期間ごとの閲覧・コメント数の近似カウント
+ *
+ * スレッドセーフではない（呼び出し側で同期すること）
+ */
+public class CountMinSketch {
+
+    private static final int DEPTH = 4;
+
+    /**
+     * 行ごとのハッシュの種（奇数の定数）
+     */
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int[][] table;
+    private final int mask;
+
+    /**
+     * @param width 1行あたりの列数（2のべき乗に切り上げ）
+     */
+    public CountMinSketch(int width) {
+        int size = Integer.highestOneBit(Math.max(width, 16) - 1) << 1;
+        this.table = new int[DEPTH][size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * 出現回数を1加算
+     *
+     * @param key キー
+     */
+    public void increment(long key) {
+        add(key, 1);
+    }
+
+    /**
+     * 出現回数を加算（上限はInteger.MAX_VALUE）
+     *
+     * @param key キー
+     * @param count 加算値
+     */
+    public void add(long key, int count) {
+        for (int i = 0; i < DEPTH; i++) {
+            int[] row = table[i];
+            int index = index(key, i);
+            long sum = (long) row[index] + count;
+            row[index] = (int) Math.min(sum, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * 出現回数の推定値
+     *
+     * @param key キー
+     * @return 推定回数（実際の回数以上）
+     */
+    public int estimate(long key) {
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, table[i][index(key, i)]);
+        }
+        return min;
+    }
+
+    /**
+     * 全カウンタを半分にする（古い出現回数の影響を徐々に減らす）
+     */
+    public void halve() {
+        for (int[] row : table) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] >>>= 1;
+            }
+        }
+    }
+
+    /**
+     * 全カウンタを0にする
+     */
+    public void clear() {
+        for (int[] row : table) {
+            java.util.Arrays.fill(row, 0);
+        }
+    }
+
+    private int index(long key, int row) {
+        long h = (key + 1) * SEEDS[row];
+        h ^= h >>> 32;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 29;
+        return (int) h & mask;
+    }
+}
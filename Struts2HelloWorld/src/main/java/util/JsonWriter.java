@@ -0,0 +1,164 @@
+package util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 【JsonWriterクラス】
+ * JSONをストリームへ直接書き出すジェネレータ
+ *
+ * 役割:
+ * - オブジェクト・配列・値を呼び出し順にそのまま出力（文字列全体を組み立てない）
+ * - 区切りのカンマと文字列のエスケープを自動で行う
+ *
+ * 使用例:
+ *   json.beginObject().name("boardId").value(1L).name("title").value("件名").endObject();
+ *   → {"boardId":1,"title":"件名"}
+ *
+ * 外部のJSONライブラリに依存しないための最小限の実装
+ */
+public class JsonWriter {
+
+    private final Writer out;
+
+    /**
+     * 入れ子ごとの「最初の要素か」フラグ（カンマ出力の判定用）
+     */
+    private final Deque<Boolean> first = new ArrayDeque<>();
+
+    /**
+     * 直前にname()を出力したか（値の前にカンマを付けない）
+     */
+    private boolean afterName = false;
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    // ========== 構造 ==========
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        out.write('{');
+        first.push(true);
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        first.pop();
+        out.write('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        out.write('[');
+        first.push(true);
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        first.pop();
+        out.write(']');
+        return this;
+    }
+
+    /**
+     * オブジェクトのキーを出力
+     */
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        writeString(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    // ========== 値 ==========
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        out.write(value.toString());
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.write("null");
+        return this;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    // ========== 内部処理 ==========
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        separate();
+    }
+
+    private void separate() throws IOException {
+        if (first.isEmpty()) {
+            return;
+        }
+        if (first.peek()) {
+            first.pop();
+            first.push(false);
+        } else {
+            out.write(',');
+        }
+    }
+
+    /**
+     * 文字列をエスケープして出力
+     * - 制御文字、引用符、バックスラッシュ
+     * - U+2028/U+2029（JavaScriptの文字列リテラルで改行扱いになるため）
+     */
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':  out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                case '\u2028': out.write("\\u2028"); break;
+                case '\u2029': out.write("\\u2029"); break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
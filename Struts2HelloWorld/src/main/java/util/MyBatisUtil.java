@@ -4,12 +4,16 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
 /**
  * 【MyBatisUtilクラス】
  * MyBatis SqlSessionFactory管理
@@ -17,12 +21,29 @@ import org.apache.logging.log4j.Logger;
  * 役割:
  * - HikariCPとMyBatisを統合
  * - SqlSessionの生成
+ * - 読み取り専用の処理をレプリカへ振り分け（getReadSqlSession）
+ * 
+ * レプリカの設定（システムプロパティ、未設定の場合はすべてプライマリ）:
+ * - board.db.replica.url      例: jdbc:postgresql://localhost:5433/struts_board
+ * - board.db.replica.username （既定: postgres）
+ * - board.db.replica.password
+ * ローカルでは2つ目のPostgreSQL、またはプライマリと同じDBを指定して確認できる
  */
 public class MyBatisUtil {
     
     private static final Logger logger = LogManager.getLogger(MyBatisUtil.class);
     private static SqlSessionFactory sqlSessionFactory;
     
+    /**
+     * レプリカ用（未設定の場合null）
+     */
+    private static SqlSessionFactory replicaSessionFactory;
+    
+    /**
+     * レプリカの接続プール（終了時にクローズ、未設定の場合null）
+     */
+    private static HikariDataSource replicaDataSource;
+    
     /*
      * static初期化ブロック
      * - クラスがロードされた時に1回だけ実行
@@ -42,6 +63,9 @@ public class MyBatisUtil {
             
             logger.info("【MyBatis】SqlSessionFactory 初期化成功");
             
+            // 4. レプリカ用SqlSessionFactoryを生成（設定がある場合のみ）
+            replicaSessionFactory = buildReplicaFactory(resource);
+            
         } catch (IOException e) {
             logger.error("【MyBatis】SqlSessionFactory 初期化失敗", e);
             throw new RuntimeException("MyBatis初期化エラー", e);
@@ -49,6 +73,39 @@ public class MyBatisUtil {
         
     }
     
+    /**
+     * レプリカ用SqlSessionFactory生成
+     * 
+     * 同じ設定ファイル（Mapper定義）を読み込み、DataSourceだけをレプリカに差し替える
+     * 
+     * @return レプリカ用SqlSessionFactory（レプリカ未設定の場合null）
+     */
+    private static SqlSessionFactory buildReplicaFactory(String resource) throws IOException {
+        String url = System.getProperty("board.db.replica.url");
+        if (url == null || url.trim().isEmpty()) {
+            logger.info("【MyBatis】レプリカ未設定 - 読み取りもプライマリで実行");
+            return null;
+        }
+        
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(System.getProperty("board.db.replica.username", "postgres"));
+        config.setPassword(System.getProperty("board.db.replica.password", ""));
+        config.setPoolName("replica");
+        config.setReadOnly(true);
+        config.setMaximumPoolSize(10);
+        
+        try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+            SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(inputStream);
+            Environment primary = sqlSessionFactory.getConfiguration().getEnvironment();
+            replicaDataSource = new HikariDataSource(config);
+            factory.getConfiguration().setEnvironment(new Environment("replica",
+                    primary.getTransactionFactory(), replicaDataSource));
+            logger.info("【MyBatis】レプリカ SqlSessionFactory 初期化成功 - " + url);
+            return factory;
+        }
+    }
+    
     /**
      * SqlSession取得
      * true: SQL実行後、自動的にcommit
@@ -67,6 +124,41 @@ public class MyBatisUtil {
         return sqlSessionFactory.openSession(autoCommit);
     }
     
+    /**
+     * 読み取り専用のSqlSession取得
+     * 
+     * - レプリカ設定があればレプリカ、なければプライマリ
+     * - 閲覧者が直近に書き込んでいる場合はプライマリ（ReadRouting）
+     *   （書き込みの記録は、各DAOの書き込みメソッドがコミット成功後に行う）
+     * - 書き込み（INSERT/UPDATE/DELETE）には使用しないこと
+     * 
+     * @return SqlSession（autoCommit = false）
+     */
+    public static SqlSession getReadSqlSession() {
+        if (replicaSessionFactory == null || ReadRouting.requiresPrimary()) {
+            return sqlSessionFactory.openSession(false);
+        }
+        return replicaSessionFactory.openSession(false);
+    }
+    
+    /**
+     * レプリカのセッションか
+     * 
+     * @param sqlSession getReadSqlSession()で取得したセッション
+     * @return レプリカに接続している場合true
+     */
+    public static boolean isReplica(SqlSession sqlSession) {
+        return replicaSessionFactory != null
+                && sqlSession.getConfiguration() == replicaSessionFactory.getConfiguration();
+    }
+    
+    /**
+     * レプリカが設定されているか
+     */
+    public static boolean hasReplica() {
+        return replicaSessionFactory != null;
+    }
+    
     /**
      * SqlSession取得 (autoCommit = false)
      * autoCommit = falseにする理由
@@ -92,4 +184,27 @@ public class MyBatisUtil {
             logger.debug("【MyBatis】SqlSession クローズ");
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * 接続プールのクローズ（アプリケーション終了時）
+     * 
+     * - プライマリ: mybatis-config.xmlのDataSourceがクローズ可能な場合のみ
+     * - レプリカ: buildReplicaFactoryで生成したHikariDataSource
+     * 再デプロイのたびにプールが残らないようにする
+     */
+    public static synchronized void shutdown() {
+        Object primary = sqlSessionFactory.getConfiguration().getEnvironment().getDataSource();
+        if (primary instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) primary).close();
+                logger.info("【MyBatis】プライマリ DataSource クローズ");
+            } catch (Exception e) {
+                logger.error("【MyBatis】プライマリ DataSource クローズ失敗", e);
+            }
+        }
+        if (replicaDataSource != null && !replicaDataSource.isClosed()) {
+            replicaDataSource.close();
+            logger.info("【MyBatis】レプリカ DataSource クローズ");
+        }
+    }
+}
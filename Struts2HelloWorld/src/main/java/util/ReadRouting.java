@@ -0,0 +1,99 @@
+package util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 【ReadRoutingクラス】
+ * 読み取りをレプリカ・プライマリのどちらへ送るかの判定
+ *
+ * 役割:
+ * - リクエストごとの閲覧者（IPアドレス）をスレッドに保持（ReadRoutingFilterが設定）
+ * - 閲覧者が書き込みを行った時刻を記録
+ * - 書き込みからREPLICA_LAG_MILLISの間、その閲覧者の読み取りはプライマリへ
+ *   （レプリカへの反映遅れで、自分の投稿・コメントが見えない状態を防ぐ：read-your-writes）
+ *
+ * レプリカ遅延の目安（ミリ秒）はシステムプロパティ board.db.replica.lagMillis で変更可能
+ */
+public class ReadRouting {
+
+    /**
+     * レプリカへの反映遅れの上限の目安（既定5秒）
+     */
+    public static final long REPLICA_LAG_MILLIS =
+            Long.getLong("board.db.replica.lagMillis", 5000L);
+
+    /**
+     * 書き込み時刻を保持する閲覧者数の上限（超えたら期限切れを削除）
+     */
+    private static final int MAX_TRACKED_VISITORS = 10_000;
+
+    private static final ThreadLocal<String> currentVisitor = new ThreadLocal<>();
+
+    /**
+     * 閲覧者 → 最後に書き込んだ時刻
+     */
+    private static final Map<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * リクエスト開始時（ReadRoutingFilterから）
+     *
+     * @param visitor 閲覧者の識別子（IPアドレス）
+     */
+    public static void begin(String visitor) {
+        currentVisitor.set(visitor);
+    }
+
+    /**
+     * リクエスト終了時（ReadRoutingFilterから）
+     */
+    public static void end() {
+        currentVisitor.remove();
+    }
+
+    /**
+     * 現在の閲覧者の書き込みを記録（リクエスト外のスレッドでは何もしない）
+     */
+    public static void markWrite() {
+        String visitor = currentVisitor.get();
+        if (visitor == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastWriteMillis.put(visitor, now);
+
+        if (lastWriteMillis.size() > MAX_TRACKED_VISITORS) {
+            Iterator<Long> it = lastWriteMillis.values().iterator();
+            while (it.hasNext()) {
+                if (now - it.next() >= REPLICA_LAG_MILLIS) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * 現在の閲覧者の読み取りをプライマリへ送るべきか
+     *
+     * @return 直近に自分で書き込んでいる場合true
+     */
+    public static boolean requiresPrimary() {
+        String visitor = currentVisitor.get();
+        if (visitor == null) {
+            return false;
+        }
+        Long written = lastWriteMillis.get(visitor);
+        if (written == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - written >= REPLICA_LAG_MILLIS) {
+            lastWriteMillis.remove(visitor, written);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+package util;
+
+/**
+ * 【RotatingBloomFilterクラス】
+ * 一定時間だけ記憶するBloomFilter（世代交代方式）
+ *
+ * 仕組み:
+ * - キーを現在の世代のBloomFilterに記録
+ * - windowMillisごとに現在の世代を前の世代にし、新しい空の世代を作る
+ * - 現在の世代の記録件数が想定件数に達した場合も、その時点で世代交代する
+ *   （想定件数を超えて記録すると偽陽性率が急増し、未記録のキーまで記録済みと判定されるため）
+ * - 現在・前の世代のどちらかに記録があれば「記録済み」
+ *   → 最後の記録からwindowMillis〜2倍の間は記録済みと判定される
+ *   → 件数による世代交代が起きた場合はそれより短くなる（偽陽性率は2世代合わせて約2%以内）
+ * - メモリは世代2つ分で一定
+ *
+ * 使用箇所:
+ * - ViewDeduplicator: 同じ閲覧者の再表示の判定
+ * - VoteBuffer: 同じ閲覧者の重複投票の判定
+ *
+ * スレッドセーフ（各メソッドで同期）
+ */
+public class RotatingBloomFilter {
+
+    private final long windowMillis;
+    private final int expectedInsertions;
+
+    private BloomFilter current;
+    private BloomFilter previous;
+    private long rotatedAt;
+    private long rotations = 0;
+    private long capacityRotations = 0;
+
+    /**
+     * @param windowMillis 世代交代の間隔（ミリ秒）
+     * @param expectedInsertions 1世代あたりの想定件数
+     */
+    public RotatingBloomFilter(long windowMillis, int expectedInsertions) {
+        this.windowMillis = windowMillis;
+        this.expectedInsertions = expectedInsertions;
+        this.current = new BloomFilter(expectedInsertions);
+        this.previous = new BloomFilter(expectedInsertions);
+        this.rotatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 未記録なら記録する
+     *
+     * @param key キー
+     * @return 未記録だった場合true（期間内に記録済みの場合false）
+     */
+    public synchronized boolean addIfAbsent(String key) {
+        rotateIfExpired();
+        if (previous.mightContain(key) || !current.add(key)) {
+            return false;
+        }
+        if (current.size() >= expectedInsertions) {
+            // 想定件数に達したら期間を待たずに世代交代
+            previous = current;
+            current = new BloomFilter(expectedInsertions);
+            rotatedAt = System.currentTimeMillis();
+            rotations++;
+            capacityRotations++;
+        }
+        return true;
+    }
+
+    private void rotateIfExpired() {
+        long now = System.currentTimeMillis();
+        if (now - rotatedAt < windowMillis) {
+            return;
+        }
+        // 2世代以上経過していれば前の世代も空にする
+        previous = (now - rotatedAt < windowMillis * 2)
+                ? current : new BloomFilter(expectedInsertions);
+        current = new BloomFilter(expectedInsertions);
+        rotatedAt = now;
+        rotations++;
+    }
+
+    /**
+     * 現在の世代の記録件数
+     */
+    public synchronized int currentSize() {
+        return current.size();
+    }
+
+    /**
+     * 現在の世代の使用率（記録件数 / 想定件数、パーセント）
+     */
+    public synchronized long fillPercent() {
+        return current.size() * 100L / expectedInsertions;
+    }
+
+    /**
+     * 世代交代の回数（件数による世代交代を含む）
+     */
+    public synchronized long getRotations() {
+        return rotations;
+    }
+
+    /**
+     * 想定件数に達したことによる世代交代の回数
+     */
+    public synchronized long getCapacityRotations() {
+        return capacityRotations;
+    }
+
+    /**
+     * 2世代分のビット列のバイト数
+     */
+    public synchronized long sizeInBytes() {
+        return current.sizeInBytes() + previous.sizeInBytes();
+    }
+}
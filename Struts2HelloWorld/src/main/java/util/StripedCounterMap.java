@@ -0,0 +1,198 @@
+package util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 【StripedCounterMapクラス】
+ * キー（投稿IDなど）ごとの加算カウンタ
+ *
+ * 役割:
+ * - リクエスト処理中の加算をメモリ上で受け付け、定期的にまとめてDBへ反映する
+ *   （書き込みの後回し：write-behind）
+ *
+ * 並行性:
+ * - キーごとのカウンタはLongAdder（内部でセルを分散）
+ *   → 同じ投稿への同時加算も別々のセルに入り、互いに待たない（人気投稿でも直列化しない）
+ * - キー → カウンタのMapは、既存キーの参照のみならロックを取らない
+ *
+ * 取り出し（drain）:
+ * - カウンタのMap全体（世代）を新しい空の世代に入れ替え、古い世代を合計して返す
+ * - 入れ替え前に古い世代を参照した加算は、その加算が終わるまで合計を待つ
+ *   （加算ごとに開始・終了をLongAdderで数え、両者が一致したら合計する）
+ *   → 取り出しと同時の加算は「取り出した値に含まれる」か「新しい世代に残る」のどちらかになり、失われない
+ * - 取り出した世代はrelease()までget()の値に含める
+ *   （DB反映が終わるまで、詳細画面の件数が一時的に減って見えないように）
+ * - 加算と取り出し中の世代は1つのvolatileな状態として保持し、get()は1回だけ読む
+ *   （入れ替えの途中で両方が見えない・両方で二重に数える瞬間がない）
+ */
+public class StripedCounterMap {
+
+    /**
+     * 加算を受け付ける世代と、取り出し中（DB反映中）の世代
+     */
+    private volatile State state = new State(new Generation(), null);
+
+    /**
+     * 加算
+     *
+     * @param key キー
+     * @param delta 加算値
+     */
+    public void add(long key, long delta) {
+        while (true) {
+            Generation generation = state.active;
+            generation.entered.increment();
+            try {
+                // 開始を数えた後に、まだ加算対象の世代であることを確認してから加算する
+                if (state.active == generation) {
+                    generation.counter(key).add(delta);
+                    return;
+                }
+            } finally {
+                generation.exited.increment();
+            }
+        }
+    }
+
+    /**
+     * 未反映の値を取得
+     *
+     * @param key キー
+     * @return 未反映の加算値（取り出し中でrelease前の分を含む、なければ0）
+     */
+    public long get(long key) {
+        State current = state;
+        long value = current.active.get(key);
+        if (current.draining != null) {
+            value += current.draining.get(key);
+        }
+        return value;
+    }
+
+    /**
+     * 未反映の値をすべて取り出す
+     * - 取り出した値はrelease()まで引き続きget()に含まれる
+     *
+     * @return キー → 加算値（0のキーは含まない）
+     */
+    public synchronized Map<Long, Long> drain() {
+        Generation drained = state.active;
+        state = new State(new Generation(), drained);
+        drained.awaitWriters();
+
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : drained.counters.entrySet()) {
+            long value = entry.getValue().sum();
+            if (value != 0) {
+                deltas.put(entry.getKey(), value);
+            }
+        }
+        if (deltas.isEmpty()) {
+            release();
+        }
+        return deltas;
+    }
+
+    /**
+     * 取り出した値をget()に含めるのをやめる（DB反映とキャッシュの破棄が終わった後に呼ぶ）
+     */
+    public synchronized void release() {
+        if (state.draining != null) {
+            state = new State(state.active, null);
+        }
+    }
+
+    /**
+     * 取り出した値を戻す（DB反映に失敗した場合など）
+     * - 戻した後にrelease()を呼ぶ（その間はごく短い間、多めに見えることがある）
+     *
+     * @param deltas キー → 加算値
+     */
+    public void restore(Map<Long, Long> deltas) {
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 未反映の値を持つキーの数（取り出し中の分を除く）
+     */
+    public int pendingKeys() {
+        int keys = 0;
+        for (LongAdder counter : state.active.counters.values()) {
+            if (counter.sum() != 0) {
+                keys++;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 未反映の値の合計（取り出し中の分を除く）
+     */
+    public long pendingTotal() {
+        long total = 0;
+        for (LongAdder counter : state.active.counters.values()) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    // ========== 内部クラス ==========
+
+    /**
+     * 状態（入れ替え時は新しいインスタンスを作る）
+     */
+    private static class State {
+        final Generation active;
+        final Generation draining;
+
+        State(Generation active, Generation draining) {
+            this.active = active;
+            this.draining = draining;
+        }
+    }
+
+    /**
+     * カウンタの世代
+     */
+    private static class Generation {
+        final ConcurrentHashMap<Long, LongAdder> counters = new ConcurrentHashMap<>();
+
+        /**
+         * この世代への加算の開始数・終了数
+         * （1つのLongAdderの増減にすると、sum()が実行中の加算を見落として0を返すことがあるため分ける）
+         */
+        final LongAdder entered = new LongAdder();
+        final LongAdder exited = new LongAdder();
+
+        LongAdder counter(long key) {
+            // 既存キーはgetのみ（computeIfAbsentはキーがあってもロックを取ることがある）
+            LongAdder counter = counters.get(key);
+            return counter != null ? counter : counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+
+        long get(long key) {
+            LongAdder counter = counters.get(key);
+            return counter != null ? counter.sum() : 0;
+        }
+
+        /**
+         * 入れ替え前に開始した加算がすべて終わるまで待つ
+         * - 終了数を先に読み、その後に読んだ開始数と一致すれば、終了数を読んだ時点で実行中の加算はない
+         * - それ以降に開始した加算は、入れ替え後の状態を確認して新しい世代へ加算する
+         */
+        void awaitWriters() {
+            while (true) {
+                long done = exited.sum();
+                if (entered.sum() == done) {
+                    return;
+                }
+                Thread.yield();
+            }
+        }
+    }
+}
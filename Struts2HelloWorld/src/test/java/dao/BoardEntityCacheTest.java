@@ -0,0 +1,100 @@
+package dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import entity.BoardEntity;
+
+/**
+ * 【BoardEntityCacheTestクラス】
+ * 満杯時の参照回数による受け入れ判定と、閲覧数・投票数の反映分の加算の確認
+ * （登録見送りの判定はCacheGuardTest）
+ */
+public class BoardEntityCacheTest {
+
+    private static BoardEntity entity(long boardId) {
+        BoardEntity entity = new BoardEntity();
+        entity.setBoardId(boardId);
+        return entity;
+    }
+
+    private static void put(BoardEntity entity) {
+        BoardEntityCache.put(entity, BoardEntityCache.currentGeneration(), false);
+    }
+
+    private static long stat(String name) {
+        return BoardEntityCache.getStats().get(name);
+    }
+
+    @Test
+    public void fullCacheAdmitsOnlyMoreFrequentlyReadPosts() {
+        // キャッシュは静的なため、他のテストと重ならないIDで満杯にする
+        long base = 100_000L;
+        int maxSize = (int) stat("entityCache.maxSize");
+        long newcomer = base + maxSize;
+        try {
+            for (long id = base; id < newcomer; id++) {
+                put(entity(id));
+            }
+
+            // 一度も参照されていない投稿は、既存のエントリを追い出さない
+            long rejections = stat("entityCache.rejections");
+            put(entity(newcomer));
+            assertEquals(rejections + 1, stat("entityCache.rejections"));
+            assertNull(BoardEntityCache.get(newcomer));
+
+            // 何度も参照された投稿は、最も長く使われていないエントリと入れ替わる
+            for (int i = 0; i < 5; i++) {
+                BoardEntityCache.get(newcomer);
+            }
+            long evictions = stat("entityCache.evictions");
+            put(entity(newcomer));
+            assertEquals(evictions + 1, stat("entityCache.evictions"));
+            assertEquals(newcomer, BoardEntityCache.get(newcomer).getBoardId());
+        } finally {
+            for (long id = base; id <= newcomer; id++) {
+                BoardEntityCache.invalidate(id);
+            }
+        }
+    }
+
+    @Test
+    public void flushedCountsArePatchedIntoCachedEntity() {
+        BoardEntity cached = entity(2_101L);
+        cached.setViewCount(10);
+        cached.setLikeCount(1);
+        put(cached);
+        long loadStartedBeforeFlush = BoardEntityCache.currentGeneration();
+
+        BoardEntityCache.addViewCount(2_101L, 5);
+        BoardEntityCache.addVoteCounts(2_101L, 2, 1);
+
+        // 破棄されず、件数だけが加算される
+        BoardEntity patched = BoardEntityCache.get(2_101L);
+        assertSame(cached, patched);
+        assertEquals(15, patched.getViewCount());
+        assertEquals(3, patched.getLikeCount());
+        assertEquals(1, patched.getDislikeCount());
+
+        // 反映前に読み込みを始めた結果（反映前の件数）で上書きしない
+        BoardEntityCache.put(entity(2_101L), loadStartedBeforeFlush, false);
+        assertSame(cached, BoardEntityCache.get(2_101L));
+
+        BoardEntityCache.invalidate(2_101L);
+    }
+
+    @Test
+    public void flushForUncachedPostDoesNotCreateEntry() {
+        long size = stat("entityCache.size");
+
+        BoardEntityCache.addViewCount(2_201L, 7);
+        BoardEntityCache.addVoteCounts(2_201L, 1, 0);
+
+        // 加算対象がなければ何も登録しない（加算値だけのEntityを返さない）
+        assertNull(BoardEntityCache.get(2_201L));
+        assertEquals(size, stat("entityCache.size"));
+    }
+}
@@ -0,0 +1,66 @@
+package dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 【CacheGuardTestクラス】
+ * 投稿ごとの変更番号とレプリカの反映待ちによる登録可否、共通の統計の確認
+ */
+public class CacheGuardTest {
+
+    private CacheGuard guard;
+
+    @Before
+    public void setUp() {
+        guard = new CacheGuard("test");
+    }
+
+    @Test
+    public void changeDuringLoadRejectsOnlyThatPost() {
+        long generation = guard.currentGeneration();
+        guard.markChanged(1L);
+
+        assertFalse(guard.admits(1L, generation, false));
+        assertTrue(guard.admits(2L, generation, false));
+        // 変更後に読み込みを始めた結果は登録してよい
+        assertTrue(guard.admits(1L, guard.currentGeneration(), false));
+    }
+
+    @Test
+    public void replicaReadIsRejectedRightAfterChange() {
+        guard.markChanged(1L);
+        long generation = guard.currentGeneration();
+
+        assertFalse(guard.admits(1L, generation, true));
+        assertTrue(guard.admits(1L, generation, false));
+        assertTrue(guard.admits(2L, generation, true));
+        assertEquals(Long.valueOf(1), stats().get("test.replicaSkips"));
+    }
+
+    @Test
+    public void expiredLookupCountsAsMiss() {
+        guard.hit();
+        guard.miss();
+        guard.expired();
+
+        Map<String, Long> stats = stats();
+        assertEquals(Long.valueOf(1), stats.get("test.hits"));
+        assertEquals(Long.valueOf(2), stats.get("test.misses"));
+        assertEquals(Long.valueOf(1), stats.get("test.expirations"));
+        assertEquals(Long.valueOf(33), stats.get("test.hitRatePercent"));
+    }
+
+    private Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        guard.putStats(stats);
+        return stats;
+    }
+}
@@ -0,0 +1,100 @@
+package dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import model.CommentData;
+
+/**
+ * 【CommentCacheTestクラス】
+ * 見積もりバイト数による容量制限（LRUの追い出し・1件の上限・破棄時の解放）の確認
+ */
+public class CommentCacheTest {
+
+    /**
+     * 1件で見積もりおよそbytesバイトになるコメント一覧（本文は1文字2バイト）
+     */
+    private static List<CommentData> commentsOf(long boardId, long bytes) {
+        StringBuilder content = new StringBuilder();
+        for (long i = 0; i < bytes / 2; i++) {
+            content.append('あ');
+        }
+        CommentData comment = new CommentData();
+        comment.setCommentId(1);
+        comment.setBoardId(boardId);
+        comment.setContent(content.toString());
+        List<CommentData> comments = new ArrayList<>();
+        comments.add(comment);
+        return comments;
+    }
+
+    private static void put(long boardId, long bytes) {
+        CommentCache.put(boardId, commentsOf(boardId, bytes), null, CommentCache.currentGeneration(), false);
+    }
+
+    private static long stat(String name) {
+        return CommentCache.getStats().get(name);
+    }
+
+    @Test
+    public void leastRecentlyReadPostIsEvictedFirst() {
+        // 1件で上限の約1/10、12件登録すると上限を超える
+        long bytes = stat("commentCache.maxBytes") / 10;
+        long base = 5_000L;
+        try {
+            for (long id = base; id < base + 12; id++) {
+                put(id, bytes);
+                // 最初の投稿は読まれ続けている
+                assertNotNull(CommentCache.get(base));
+                assertTrue(stat("commentCache.bytes") <= stat("commentCache.maxBytes"));
+            }
+
+            // 登録順ではなく、最も長く読まれていない投稿から追い出される
+            assertNotNull(CommentCache.get(base));
+            assertNull(CommentCache.get(base + 1));
+            assertNotNull(CommentCache.get(base + 11));
+        } finally {
+            for (long id = base; id < base + 12; id++) {
+                CommentCache.invalidate(id);
+            }
+        }
+    }
+
+    @Test
+    public void oversizedSnapshotIsNotCachedAndKeepsOthers() {
+        long maxSnapshotBytes = stat("commentCache.maxBytes") / 8;
+        put(4_001L, 1_000);
+        long oversized = stat("commentCache.oversized");
+
+        put(4_002L, maxSnapshotBytes + 2);
+
+        assertNull(CommentCache.get(4_002L));
+        assertNotNull(CommentCache.get(4_001L));
+        assertEquals(oversized + 1, stat("commentCache.oversized"));
+
+        CommentCache.invalidate(4_001L);
+    }
+
+    @Test
+    public void replacingOrInvalidatingReleasesBytes() {
+        long before = stat("commentCache.bytes");
+
+        put(6_001L, 10_000);
+        long afterFirst = stat("commentCache.bytes");
+        assertTrue(afterFirst > before);
+
+        // 同じ投稿の再登録は前のスナップショットの分を差し引く
+        put(6_001L, 2_000);
+        assertTrue(stat("commentCache.bytes") < afterFirst);
+
+        CommentCache.invalidate(6_001L);
+        assertEquals(before, stat("commentCache.bytes"));
+    }
+}
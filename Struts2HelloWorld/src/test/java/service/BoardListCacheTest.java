@@ -0,0 +1,138 @@
+package service;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import dto.response.BoardListResponse;
+import dto.response.BoardPageResponse;
+
+/**
+ * 【BoardListCacheTestクラス】
+ * 登録・世代番号による登録見送り・変更ごとの対象エントリだけの破棄の確認
+ */
+public class BoardListCacheTest {
+
+    private BoardListCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new BoardListCache(() -> false);
+    }
+
+    /**
+     * 指定IDを新しい順に並べた1ページ目（hasNext時は末尾IDが次ページのカーソル）
+     */
+    private static BoardPageResponse page(boolean hasNext, long... boardIds) {
+        List<BoardListResponse> items = new ArrayList<>();
+        for (long id : boardIds) {
+            BoardListResponse item = new BoardListResponse();
+            item.setBoardId(id);
+            items.add(item);
+        }
+        return new BoardPageResponse(items, hasNext, false);
+    }
+
+    private void put(String category, String keyword, BoardPageResponse page) {
+        cache.put(category, keyword, page, cache.currentGeneration());
+    }
+
+    @Test
+    public void putThenGetReturnsSamePage() {
+        BoardPageResponse page = page(false, 3, 2, 1);
+        put(null, null, page);
+
+        assertSame(page, cache.get(null, null));
+        assertNull(cache.get("free", null));
+    }
+
+    @Test
+    public void putIsSkippedWhenInvalidatedDuringLoad() {
+        long generation = cache.currentGeneration();
+        cache.onViewCountChange(Collections.singleton(99L));
+        cache.put(null, null, page(false, 3, 2, 1), generation);
+
+        assertNull(cache.get(null, null));
+    }
+
+    @Test
+    public void viewCountChangeDropsOnlyPagesShowingThePost() {
+        put("free", null, page(false, 5, 4));
+        put("notice", null, page(false, 3, 2));
+
+        cache.onViewCountChange(Collections.singleton(4L));
+
+        assertNull(cache.get("free", null));
+        assertNotNull(cache.get("notice", null));
+    }
+
+    @Test
+    public void insertDropsPagesInSameCategoryScope() {
+        put(null, null, page(false, 5, 4));
+        put("free", null, page(false, 5));
+        put("notice", null, page(false, 4));
+
+        cache.onInsert(6L, "free");
+
+        assertNull(cache.get(null, null));
+        assertNull(cache.get("free", null));
+        assertNotNull(cache.get("notice", null));
+    }
+
+    @Test
+    public void updateOutsideCoveredRangeKeepsListPage() {
+        // 1ページ目は100〜90（次ページあり）、50は表示範囲外
+        put("free", null, page(true, 100, 95, 90));
+        put("free", "java", page(false, 100));
+
+        cache.onUpdate(50L, "free");
+
+        assertNotNull(cache.get("free", null));
+        // キーワード検索は順位が変わりうるため破棄
+        assertNull(cache.get("free", "java"));
+    }
+
+    @Test
+    public void updateInsideCoveredRangeDropsListPage() {
+        put("free", null, page(true, 100, 95, 90));
+
+        cache.onUpdate(92L, "free");
+
+        assertNull(cache.get("free", null));
+    }
+
+    @Test
+    public void voteCountChangeDropsPagesShowingAnyOfThePosts() {
+        put("free", null, page(false, 5, 4));
+        put("notice", null, page(false, 3, 2));
+        put("qna", null, page(false, 1));
+
+        cache.onVoteCountChange(Arrays.asList(4L, 2L));
+
+        assertNull(cache.get("free", null));
+        assertNull(cache.get("notice", null));
+        assertNotNull(cache.get("qna", null));
+    }
+
+    @Test
+    public void putIsSkippedRightAfterChangeWhenReplicaIsConfigured() {
+        BoardListCache replicated = new BoardListCache(() -> true);
+        replicated.onChange(1L);
+        replicated.put(null, null, page(false, 3, 2), replicated.currentGeneration());
+
+        assertNull(replicated.get(null, null));
+
+        // レプリカなしなら直後でも登録する
+        cache.onChange(1L);
+        put(null, null, page(false, 3, 2));
+        assertNotNull(cache.get(null, null));
+    }
+}
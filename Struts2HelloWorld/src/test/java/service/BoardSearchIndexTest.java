@@ -0,0 +1,78 @@
+package service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 【BoardSearchIndexTestクラス】
+ * N-gram索引のAND検索・スコア順・カテゴリ絞り込み・差分更新の確認
+ */
+public class BoardSearchIndexTest {
+
+    private BoardSearchIndex index;
+
+    @Before
+    public void setUp() {
+        index = new BoardSearchIndex();
+        index.add(1L, "notice", "掲示板のお知らせ", "メンテナンスを行います");
+        index.add(2L, "free", "雑談", "掲示板の使い方について");
+        index.add(3L, "free", "Java入門", "Struts2で掲示板を作る");
+    }
+
+    @Test
+    public void titleMatchesRankAboveContentMatches() {
+        List<Long> result = index.search("掲示板", null);
+        // タイトルに含む1が先頭、本文のみの2・3は同点のため新しい順
+        assertEquals(Arrays.asList(1L, 3L, 2L), result);
+    }
+
+    @Test
+    public void keywordsAreAndCombined() {
+        assertEquals(Arrays.asList(3L), index.search("掲示板 struts2", null));
+        assertTrue(index.search("掲示板 存在しない", null).isEmpty());
+    }
+
+    @Test
+    public void searchIsCaseAndWidthInsensitive() {
+        // 全角英字・大文字でも一致する（NFKC正規化＋小文字化）
+        assertEquals(Arrays.asList(3L), index.search("ＪＡＶＡ", null));
+    }
+
+    @Test
+    public void singleCharacterKeywordUsesUnigram() {
+        assertEquals(Arrays.asList(2L), index.search("雑", null));
+    }
+
+    @Test
+    public void categoryFilterExcludesOtherCategories() {
+        assertEquals(Arrays.asList(3L, 2L), index.search("掲示板", "free"));
+    }
+
+    @Test
+    public void updateReplacesOldTokens() {
+        index.add(2L, "free", "雑談", "今日の天気");
+
+        assertEquals(Arrays.asList(1L, 3L), index.search("掲示板", null));
+        assertEquals(Arrays.asList(2L), index.search("天気", null));
+    }
+
+    @Test
+    public void removedPostIsNotReturned() {
+        index.remove(1L);
+
+        assertEquals(Arrays.asList(3L, 2L), index.search("掲示板", null));
+        assertTrue(index.search("お知らせ", null).isEmpty());
+    }
+
+    @Test
+    public void blankKeywordReturnsNothing() {
+        assertTrue(index.search("  ", null).isEmpty());
+        assertTrue(index.search(null, null).isEmpty());
+    }
+}
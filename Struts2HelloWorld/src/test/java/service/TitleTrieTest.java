@@ -0,0 +1,90 @@
+package service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 【TitleTrieTestクラス】
+ * 前方一致の補完候補（新しい投稿順・件数上限）と差分更新の確認
+ */
+public class TitleTrieTest {
+
+    private TitleTrie trie;
+
+    @Before
+    public void setUp() {
+        trie = new TitleTrie();
+        trie.add(1L, "Java入門");
+        trie.add(2L, "JavaScript入門");
+        trie.add(3L, "掲示板の使い方");
+    }
+
+    private static List<Long> ids(List<TitleTrie.Suggestion> suggestions) {
+        List<Long> ids = new ArrayList<>();
+        for (TitleTrie.Suggestion s : suggestions) {
+            ids.add(s.getBoardId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void suggestReturnsNewestFirst() {
+        List<TitleTrie.Suggestion> result = trie.suggest("java", 10);
+
+        assertEquals(Arrays.asList(2L, 1L), ids(result));
+        // 表示用には元のタイトルを返す
+        assertEquals("JavaScript入門", result.get(0).getTitle());
+    }
+
+    @Test
+    public void prefixIsNormalized() {
+        assertEquals(Arrays.asList(2L, 1L), ids(trie.suggest("ＪＡＶＡ", 10)));
+        assertEquals(Arrays.asList(3L), ids(trie.suggest("掲示", 10)));
+    }
+
+    @Test
+    public void unknownOrBlankPrefixReturnsNothing() {
+        assertTrue(trie.suggest("python", 10).isEmpty());
+        assertTrue(trie.suggest("", 10).isEmpty());
+    }
+
+    @Test
+    public void renamedTitleMovesToNewPrefix() {
+        trie.add(2L, "Kotlin入門");
+
+        assertEquals(Arrays.asList(1L), ids(trie.suggest("java", 10)));
+        assertEquals(Arrays.asList(2L), ids(trie.suggest("kot", 10)));
+    }
+
+    @Test
+    public void removeDropsSuggestion() {
+        trie.remove(1L);
+
+        assertEquals(Arrays.asList(2L), ids(trie.suggest("java", 10)));
+        assertTrue(trie.suggest("java入", 10).isEmpty());
+    }
+
+    @Test
+    public void resultIsCappedAtMaxSuggestions() {
+        for (long id = 100; id < 100 + TitleTrie.MAX_SUGGESTIONS + 5; id++) {
+            trie.add(id, "テスト" + id);
+        }
+        List<Long> result = ids(trie.suggest("テスト", 100));
+
+        assertEquals(TitleTrie.MAX_SUGGESTIONS, result.size());
+        assertEquals(Long.valueOf(100 + TitleTrie.MAX_SUGGESTIONS + 4), result.get(0));
+
+        // 上位が削除されたら、部分木から次の候補が繰り上がる
+        trie.remove(100 + TitleTrie.MAX_SUGGESTIONS + 4);
+        result = ids(trie.suggest("テスト", 100));
+        assertEquals(TitleTrie.MAX_SUGGESTIONS, result.size());
+        assertEquals(Long.valueOf(104), result.get(TitleTrie.MAX_SUGGESTIONS - 1));
+    }
+}
@@ -0,0 +1,96 @@
+package service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 【TrendingTrackerTestクラス】
+ * 閲覧・コメントの重み付きスコア順、上位候補数の上限、並行記録の確認
+ */
+public class TrendingTrackerTest {
+
+    private TrendingTracker tracker;
+
+    @Before
+    public void setUp() {
+        tracker = new TrendingTracker();
+    }
+
+    private void views(long boardId, int count) {
+        for (int i = 0; i < count; i++) {
+            tracker.recordView(boardId);
+        }
+    }
+
+    @Test
+    public void ranksByScoreWithCommentsWeighted() {
+        views(1L, 5);
+        views(2L, 2);
+        tracker.recordComment(2L);   // 2 + 3 = 5
+        views(3L, 4);
+
+        // 同点は新しい投稿順
+        assertEquals(Arrays.asList(2L, 1L, 3L), tracker.getTopIds(TrendingTracker.Period.HOUR, 10));
+        assertEquals(Arrays.asList(2L, 1L, 3L), tracker.getTopIds(TrendingTracker.Period.DAY, 10));
+    }
+
+    @Test
+    public void recordsAfterReadAreAddedToEarlierScores() {
+        views(1L, 3);
+        views(2L, 2);
+        assertEquals(Arrays.asList(1L, 2L), tracker.getTopIds(TrendingTracker.Period.HOUR, 10));
+
+        views(2L, 2);
+        assertEquals(Arrays.asList(2L, 1L), tracker.getTopIds(TrendingTracker.Period.HOUR, 10));
+    }
+
+    @Test
+    public void limitAndTopKCapTheResult() {
+        long last = TrendingTracker.TOP_K + 10;
+        for (long id = 1; id <= last; id++) {
+            views(id, (int) id);
+        }
+
+        assertEquals(Arrays.asList(last, last - 1, last - 2),
+                tracker.getTopIds(TrendingTracker.Period.HOUR, 3));
+        assertEquals(TrendingTracker.TOP_K, tracker.getTopIds(TrendingTracker.Period.HOUR, 1000).size());
+        assertTrue(tracker.getStats().get("trending.hourCandidates") <= TrendingTracker.TOP_K);
+    }
+
+    @Test
+    public void concurrentRecordsKeepRanking() throws Exception {
+        int threads = 4;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    tracker.recordView(i % 2 == 0 ? 1L : 2L);
+                    if (i % 4 == 0) {
+                        tracker.recordView(2L);
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        // 記録と並行して参照しても（未反映分の取り出しと加算が重なっても）順位が崩れない
+        while (done.getCount() > 0) {
+            tracker.getTopIds(TrendingTracker.Period.HOUR, 10);
+        }
+        done.await();
+
+        assertEquals(Arrays.asList(2L, 1L), tracker.getTopIds(TrendingTracker.Period.HOUR, 10));
+    }
+
+    @Test
+    public void unknownPeriodFallsBackToHour() {
+        assertEquals(TrendingTracker.Period.DAY, TrendingTracker.Period.parse("DAY"));
+        assertEquals(TrendingTracker.Period.HOUR, TrendingTracker.Period.parse("week"));
+        assertEquals(TrendingTracker.Period.HOUR, TrendingTracker.Period.parse(null));
+    }
+}
@@ -0,0 +1,146 @@
+package util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+/**
+ * 【StripedCounterMapTestクラス】
+ * 加算・取り出し・戻しと、取り出しと同時の加算が失われないことの確認
+ */
+public class StripedCounterMapTest {
+
+    @Test
+    public void addAccumulatesPerKey() {
+        StripedCounterMap map = new StripedCounterMap();
+        map.add(1L, 2);
+        map.add(1L, 3);
+        map.add(2L, 1);
+
+        assertEquals(5, map.get(1L));
+        assertEquals(1, map.get(2L));
+        assertEquals(0, map.get(3L));
+        assertEquals(2, map.pendingKeys());
+        assertEquals(6, map.pendingTotal());
+    }
+
+    @Test
+    public void entryIsRemovedWhenSumReachesZero() {
+        StripedCounterMap map = new StripedCounterMap();
+        map.add(1L, 1);
+        map.add(1L, -1);
+
+        assertEquals(0, map.get(1L));
+        assertEquals(0, map.pendingKeys());
+    }
+
+    @Test
+    public void drainEmptiesMapAndRestorePutsValuesBack() {
+        StripedCounterMap map = new StripedCounterMap();
+        map.add(1L, 4);
+        map.add(2L, 7);
+
+        Map<Long, Long> drained = map.drain();
+        assertEquals(Long.valueOf(4), drained.get(1L));
+        assertEquals(Long.valueOf(7), drained.get(2L));
+        assertEquals(0, map.pendingKeys());
+
+        // 取り出し後の加算と戻した値が合算される
+        map.add(1L, 1);
+        map.restore(drained);
+        map.release();
+        assertEquals(5, map.get(1L));
+        assertEquals(7, map.get(2L));
+    }
+
+    @Test
+    public void drainedValuesStayVisibleUntilRelease() {
+        StripedCounterMap map = new StripedCounterMap();
+        map.add(1L, 4);
+
+        map.drain();
+        map.add(1L, 1);
+        // DB反映中も、取り出した分と新しい加算の両方が見える
+        assertEquals(5, map.get(1L));
+        assertEquals(1, map.pendingTotal());
+
+        map.release();
+        assertEquals(1, map.get(1L));
+    }
+
+    @Test
+    public void readersNeverSeeADipDuringDrain() throws Exception {
+        StripedCounterMap map = new StripedCounterMap();
+        map.add(1L, 1_000);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean dipped = new AtomicBoolean(false);
+
+        // 取り出し → 戻し → 解放を繰り返す間、1000を下回る値が見えないこと
+        // （戻してから解放するまでの間は多めに見えることがある）
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                if (map.get(1L) < 1_000) {
+                    dipped.set(true);
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 10_000; i++) {
+            Map<Long, Long> drained = map.drain();
+            map.restore(drained);
+            map.release();
+        }
+        running.set(false);
+        reader.join();
+
+        assertFalse(dipped.get());
+    }
+
+    @Test
+    public void concurrentAddAndDrainLoseNothing() throws Exception {
+        StripedCounterMap map = new StripedCounterMap();
+        int threads = 4;
+        int perThread = 50_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    map.add(i % 8, 1);
+                }
+                done.countDown();
+            }).start();
+        }
+
+        // 加算と並行して取り出し続け、取り出した値を合計する
+        Map<Long, Long> total = new HashMap<>();
+        Thread drainer = new Thread(() -> {
+            while (running.get()) {
+                for (Map.Entry<Long, Long> e : map.drain().entrySet()) {
+                    total.merge(e.getKey(), e.getValue(), Long::sum);
+                }
+            }
+        });
+        drainer.start();
+        done.await();
+        running.set(false);
+        drainer.join();
+        for (Map.Entry<Long, Long> e : map.drain().entrySet()) {
+            total.merge(e.getKey(), e.getValue(), Long::sum);
+        }
+
+        long sum = 0;
+        for (long value : total.values()) {
+            sum += value;
+        }
+        assertEquals((long) threads * perThread, sum);
+        assertEquals(0, map.pendingKeys());
+    }
+}